@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Non-blocking variant of the banking API: same contract, served by WebFlux on top of R2DBC, so that requests waiting
+ * on the database hold no thread.
+ *
+ * @author Marco Ruiz
+ */
+@SpringBootApplication
+public class ReactiveBankApp {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveBankApp.class, args);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.reactive.controller;
+
+import net.bopsys.banking.model.dto.BankAccountCreateDto;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.reactive.service.ReactiveBankingService;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Marco Ruiz
+ */
+@RestController
+@RequestMapping("/bankAccounts")
+public class ReactiveBankingController {
+
+	private final ReactiveBankingService bankAccountService;
+
+	public ReactiveBankingController(ReactiveBankingService bankAccountService) {
+		this.bankAccountService = bankAccountService;
+	}
+
+	@PostMapping("/")
+	public Mono<BankAccountResource> createAccount(@RequestBody BankAccountCreateDto dto) {
+		return bankAccountService.createAccount(dto);
+	}
+
+	@PostMapping("/{id}/transfers")
+	public Mono<Void> createTransferOrder(@PathVariable Long id, @RequestBody TransferOrderDto dto) {
+		return bankAccountService.createTransferOrder(id, dto).then();
+	}
+
+	@PostMapping("/transfers:batch")
+	public Mono<TransferOrderBatchResource> createTransferOrders(@RequestBody List<TransferOrderBatchItemDto> dtos) {
+		return bankAccountService.createTransferOrders(dtos);
+	}
+
+	@GetMapping("/{id}")
+	public Mono<BankAccountResource> findBankAccount(@PathVariable Long id) {
+		return bankAccountService.getBankAccount(id);
+	}
+
+	@GetMapping("/{id}/balanceInCents")
+	public Mono<Long> getAccountBalance(@PathVariable Long id, @RequestParam(defaultValue = "true") String cached) {
+		return (cached.equalsIgnoreCase("true")) ?
+				bankAccountService.getBankAccount(id).map(BankAccountResource::getBalanceInCents) :
+				bankAccountService.computeBalanceInCents(id);
+	}
+
+	@GetMapping("/{id}/transfers")
+	public Flux<TransferOrderResource> getTransferHistory(@PathVariable Long id) {
+		return bankAccountService.streamTransferHistory(id);
+	}
+
+	@GetMapping(value = "/{id}/transfers", params = "limit")
+	public Mono<TransferOrderPageResource> getTransferHistoryPage(
+			@PathVariable Long id,
+			@RequestParam int limit,
+			@RequestParam(required = false) String after) {
+
+		return bankAccountService.getTransferHistoryPage(id, after, limit);
+	}
+
+	// Each transfer is written as soon as it is read, and pages are only read as the client keeps up
+	@GetMapping(value = "/{id}/transfers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<TransferOrderResource> streamTransferHistory(@PathVariable Long id) {
+		return bankAccountService.streamTransferHistory(id);
+	}
+}
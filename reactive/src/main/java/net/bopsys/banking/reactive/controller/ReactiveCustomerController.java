@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.reactive.controller;
+
+import net.bopsys.banking.model.dto.CustomerDto;
+import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.reactive.service.ReactiveCustomerService;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Marco Ruiz
+ */
+@RestController
+@RequestMapping("/customers")
+public class ReactiveCustomerController {
+
+	private final ReactiveCustomerService customerService;
+
+	public ReactiveCustomerController(ReactiveCustomerService customerService) {
+		this.customerService = customerService;
+	}
+
+	@PostMapping("/")
+	public Mono<CustomerResource> createCustomer(@RequestBody CustomerDto dto) {
+		return customerService.createCustomer(dto);
+	}
+
+	// Customers are decoded one by one out of the JSON array as the request body is received
+	@PostMapping("/import")
+	public Mono<ImportReportResource> importCustomers(@RequestBody Flux<CustomerDto> dtos) {
+		return customerService.importCustomers(dtos);
+	}
+
+	@GetMapping("/{id}")
+	public Mono<CustomerResource> getCustomer(@PathVariable Long id) {
+		return customerService.getCustomer(id);
+	}
+
+	@GetMapping("/")
+	public Flux<CustomerResource> getCustomers() {
+		return customerService.getCustomers();
+	}
+}
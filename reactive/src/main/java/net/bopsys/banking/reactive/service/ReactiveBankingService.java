@@ -0,0 +1,407 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.reactive.service;
+
+import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.CustomerNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.InvalidTransferBatchException;
+import net.bopsys.banking.exception.InvalidTransferHistoryPageException;
+import net.bopsys.banking.exception.RequestOpeningBankAccountWithNegativeBalanceException;
+import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
+import net.bopsys.banking.exception.TransferAmountTooLowException;
+import net.bopsys.banking.model.dto.BankAccountCreateDto;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.TimeOrderedUuids;
+import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchItemResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.service.TransferHistoryCursor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the banking service of the servlet variant, over R2DBC.
+ * <p>
+ * Instead of serializing transfers with in-memory locks, the rows of both accounts of a transfer are locked in the
+ * database, in ascending id order so that two opposite transfers never deadlock, and validated before being updated.
+ * Transfer histories are read straight into resources, and streamed one page at a time as the subscriber requests
+ * them, so that a slow client never makes more than a couple of pages be buffered.
+ *
+ * @author Marco Ruiz
+ */
+@Service
+public class ReactiveBankingService {
+
+	public static final String ACCOUNT_ROLE_DEBIT = "debit";
+	public static final String ACCOUNT_ROLE_CREDIT = "credit";
+
+	private static final int MAX_TRANSFER_HISTORY_PAGE_SIZE = 1000;
+	private static final int MAX_TRANSFER_BATCH_SIZE = 1000;
+
+	private static final String SELECT_CUSTOMER_NAME = "select name from customer where id = :customerId";
+
+	private static final String INSERT_BANK_ACCOUNT = """
+			insert into bank_account (customer_id, initial_balance_in_cents, balance_in_cents, created_on, version)
+			values (:customerId, :initialBalanceInCents, :initialBalanceInCents, :createdOn, 0)
+			""";
+
+	private static final String SELECT_BANK_ACCOUNT_RESOURCE = """
+			select a.id, c.name, a.balance_in_cents, a.created_on
+			from bank_account a join customer c on c.id = a.customer_id
+			where a.id = :accountId
+			""";
+
+	private static final String LOCK_BANK_ACCOUNTS = """
+			select id, balance_in_cents, checkpointed_on from bank_account
+			where id in (:accountIds)
+			order by id
+			for update
+			""";
+
+	private static final String UPDATE_BALANCE = """
+			update bank_account set balance_in_cents = balance_in_cents + :deltaInCents, version = version + 1
+			where id = :accountId
+			""";
+
+	private static final String INSERT_TRANSFER_ORDER = """
+			insert into transfer_order (id, account_from_id, account_to_id, amount_transferred_in_cents, created_on)
+			values (:id, :accountFromId, :accountToId, :amountInCents, :createdOn)
+			""";
+
+	private static final String SELECT_LATEST_BALANCE_CHECKPOINT = """
+			select balance_in_cents, as_of from balance_checkpoint
+			where account_id = :accountId
+			order by as_of desc
+			limit 1
+			""";
+
+	private static final String SELECT_INITIAL_BALANCE =
+			"select initial_balance_in_cents from bank_account where id = :accountId";
+
+	private static final String SUM_NET_TRANSFERRED = """
+			select
+				coalesce((select sum(amount_transferred_in_cents) from transfer_order
+					where account_to_id = :accountId and created_on > :after), 0)
+				- coalesce((select sum(amount_transferred_in_cents) from transfer_order
+					where account_from_id = :accountId and created_on > :after), 0) as net_in_cents
+			""";
+
+	private static final String SELECT_TRANSFER_HISTORY_PAGE = """
+			select t.id, t.account_from_id, t.account_to_id, t.amount_transferred_in_cents, t.created_on from (
+				(select * from transfer_order where account_from_id = :accountId
+					order by created_on, id limit :limit)
+				union all
+				(select * from transfer_order where account_to_id = :accountId
+					order by created_on, id limit :limit)
+			) t
+			order by t.created_on, t.id
+			limit :limit
+			""";
+
+	private static final String SELECT_TRANSFER_HISTORY_PAGE_AFTER = """
+			select t.id, t.account_from_id, t.account_to_id, t.amount_transferred_in_cents, t.created_on from (
+				(select * from transfer_order where account_from_id = :accountId
+					and (created_on > :createdOn or (created_on = :createdOn and id > :id))
+					order by created_on, id limit :limit)
+				union all
+				(select * from transfer_order where account_to_id = :accountId
+					and (created_on > :createdOn or (created_on = :createdOn and id > :id))
+					order by created_on, id limit :limit)
+			) t
+			order by t.created_on, t.id
+			limit :limit
+			""";
+
+	private final DatabaseClient databaseClient;
+	private final TransactionalOperator transactionalOperator;
+	private final int streamPageSize;
+
+	public ReactiveBankingService(
+			DatabaseClient databaseClient,
+			TransactionalOperator transactionalOperator,
+			@Value("${banking.transfer-history.stream-page-size:500}") int streamPageSize) {
+
+		this.databaseClient = databaseClient;
+		this.transactionalOperator = transactionalOperator;
+		this.streamPageSize = Math.max(1, streamPageSize);
+	}
+
+	public Mono<BankAccountResource> createAccount(BankAccountCreateDto dto) {
+		long initialBalanceInCents = dto.getInitialBalanceInCents();
+		if (initialBalanceInCents < 0)
+			return Mono.error(new RequestOpeningBankAccountWithNegativeBalanceException(initialBalanceInCents));
+
+		Instant createdOn = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		return databaseClient.sql(SELECT_CUSTOMER_NAME)
+				.bind("customerId", dto.getCustomerId())
+				.map(row -> row.get("name", String.class))
+				.one()
+				.switchIfEmpty(Mono.error(() -> new CustomerNotFoundException(dto.getCustomerId())))
+				.flatMap(name -> databaseClient.sql(INSERT_BANK_ACCOUNT)
+						.filter((statement, next) -> next.execute(statement.returnGeneratedValues("id")))
+						.bind("customerId", dto.getCustomerId())
+						.bind("initialBalanceInCents", initialBalanceInCents)
+						.bind("createdOn", timestamp(createdOn))
+						.map(row -> row.get("id", Long.class))
+						.one()
+						.map(id -> BankAccountResource.builder()
+								.id(id)
+								.name(name)
+								.balanceInCents(initialBalanceInCents)
+								.createdOn(createdOn)
+								.build()))
+				.as(transactionalOperator::transactional);
+	}
+
+	public Mono<BankAccountResource> getBankAccount(Long accountId) {
+		return databaseClient.sql(SELECT_BANK_ACCOUNT_RESOURCE)
+				.bind("accountId", accountId)
+				.map(row -> BankAccountResource.builder()
+						.id(row.get("id", Long.class))
+						.name(row.get("name", String.class))
+						.balanceInCents(row.get("balance_in_cents", Long.class))
+						.createdOn(instant(row, "created_on"))
+						.build())
+				.one()
+				.switchIfEmpty(Mono.error(() -> new BankAccountNotFoundException(accountId)));
+	}
+
+	public Mono<UUID> createTransferOrder(Long accountFromId, TransferOrderDto dto) {
+		return transfer(accountFromId, dto.getAccountToId(), dto.getTransferAmountInCents())
+				.as(transactionalOperator::transactional);
+	}
+
+	/**
+	 * Creates a batch of transfers in a single transaction. Each item is validated against the balances left by the
+	 * previous ones, and items failing validation are reported without affecting the rest. Batches of more than
+	 * {@value #MAX_TRANSFER_BATCH_SIZE} items are rejected as a whole
+	 */
+	public Mono<TransferOrderBatchResource> createTransferOrders(List<TransferOrderBatchItemDto> dtos) {
+		if (dtos.size() > MAX_TRANSFER_BATCH_SIZE)
+			return Mono.error(new InvalidTransferBatchException(String.format(
+					"batches must have at most %d items (items provided: %d)", MAX_TRANSFER_BATCH_SIZE, dtos.size())));
+
+		return Flux.range(0, dtos.size())
+				.concatMap(index -> {
+					TransferOrderBatchItemDto dto = dtos.get(index);
+					return transfer(dto.getAccountFromId(), dto.getAccountToId(), dto.getTransferAmountInCents())
+							.map(id -> TransferOrderBatchItemResource.builder()
+									.index(index)
+									.succeeded(true)
+									.transferOrderId(id)
+									.build())
+							.onErrorResume(this::isRejection, e -> Mono.just(TransferOrderBatchItemResource.builder()
+									.index(index)
+									.succeeded(false)
+									.error(e.getMessage())
+									.build()));
+				})
+				.collectList()
+				.map(items -> {
+					int succeeded = (int) items.stream().filter(TransferOrderBatchItemResource::isSucceeded).count();
+					return TransferOrderBatchResource.builder()
+							.succeeded(succeeded)
+							.failed(items.size() - succeeded)
+							.items(items)
+							.build();
+				})
+				.as(transactionalOperator::transactional);
+	}
+
+	public Mono<Long> computeBalanceInCents(Long accountId) {
+		Mono<Map.Entry<Long, Instant>> base = databaseClient.sql(SELECT_LATEST_BALANCE_CHECKPOINT)
+				.bind("accountId", accountId)
+				.map(row -> Map.entry(row.get("balance_in_cents", Long.class), instant(row, "as_of")))
+				.one()
+				.switchIfEmpty(databaseClient.sql(SELECT_INITIAL_BALANCE)
+						.bind("accountId", accountId)
+						.map(row -> Map.entry(row.get("initial_balance_in_cents", Long.class), Instant.EPOCH))
+						.one())
+				.switchIfEmpty(Mono.error(() -> new BankAccountNotFoundException(accountId)));
+
+		return base.flatMap(checkpoint -> databaseClient.sql(SUM_NET_TRANSFERRED)
+				.bind("accountId", accountId)
+				.bind("after", timestamp(checkpoint.getValue()))
+				.map(row -> row.get("net_in_cents", Long.class))
+				.one()
+				.map(netInCents -> checkpoint.getKey() + netInCents));
+	}
+
+	/**
+	 * Streams the whole transfer history of an account, ordered by creation time and id. Pages of
+	 * {@code banking.transfer-history.stream-page-size} transfers are queried as the subscriber requests them, at most
+	 * one page ahead of the one being consumed
+	 */
+	public Flux<TransferOrderResource> streamTransferHistory(Long accountId) {
+		return findTransferHistoryPage(accountId, null, streamPageSize)
+				.collectList()
+				.expand(page -> (page.size() < streamPageSize) ?
+						Mono.empty() :
+						findTransferHistoryPage(accountId, cursorAfter(page), streamPageSize).collectList())
+				.concatMapIterable(page -> page, 1);
+	}
+
+	public Mono<TransferOrderPageResource> getTransferHistoryPage(Long accountId, String afterCursor, int limit) {
+		if (limit <= 0)
+			return Mono.error(new InvalidTransferHistoryPageException(String.format("limit must be greater than 0 (limit provided: %d)", limit)));
+
+		// One extra record is fetched to find out whether there is a next page
+		int pageSize = Math.min(limit, MAX_TRANSFER_HISTORY_PAGE_SIZE);
+		TransferHistoryCursor cursor;
+		try {
+			cursor = (afterCursor == null || afterCursor.isBlank()) ? null : TransferHistoryCursor.decode(afterCursor);
+		} catch (InvalidTransferHistoryPageException e) {
+			return Mono.error(e);
+		}
+
+		return findTransferHistoryPage(accountId, cursor, pageSize + 1)
+				.collectList()
+				.map(transfers -> {
+					List<TransferOrderResource> items = transfers.subList(0, Math.min(pageSize, transfers.size()));
+					return TransferOrderPageResource.builder()
+							.items(items)
+							.nextCursor((transfers.size() > pageSize) ? cursorAfter(items).encode() : null)
+							.build();
+				});
+	}
+
+	private Flux<TransferOrderResource> findTransferHistoryPage(Long accountId, TransferHistoryCursor after, int limit) {
+		DatabaseClient.GenericExecuteSpec query = (after == null) ?
+				databaseClient.sql(SELECT_TRANSFER_HISTORY_PAGE) :
+				databaseClient.sql(SELECT_TRANSFER_HISTORY_PAGE_AFTER)
+						.bind("createdOn", timestamp(after.createdOn()))
+						.bind("id", after.id());
+
+		return query
+				.bind("accountId", accountId)
+				.bind("limit", limit)
+				.map(row -> new TransferOrderResource(
+						row.get("id", UUID.class),
+						row.get("account_from_id", Long.class),
+						row.get("account_to_id", Long.class),
+						row.get("amount_transferred_in_cents", Long.class),
+						instant(row, "created_on")))
+				.all();
+	}
+
+	private Mono<UUID> transfer(Long accountFromId, Long accountToId, long transferAmountInCents) {
+		if (accountFromId != null && accountFromId.equals(accountToId))
+			return Mono.error(new SameBankAccountTransferNotAllowedException(accountFromId));
+
+		if (transferAmountInCents <= 0)
+			return Mono.error(new TransferAmountTooLowException(transferAmountInCents));
+
+		if (accountFromId == null || accountToId == null)
+			return Mono.error((accountFromId == null) ?
+					new BankAccountNotFoundException(null, ACCOUNT_ROLE_DEBIT) :
+					new BankAccountNotFoundException(null, ACCOUNT_ROLE_CREDIT));
+
+		return databaseClient.sql(LOCK_BANK_ACCOUNTS)
+				.bind("accountIds", List.of(accountFromId, accountToId))
+				.map(row -> new LockedAccount(
+						row.get("id", Long.class),
+						row.get("balance_in_cents", Long.class),
+						instant(row, "checkpointed_on")))
+				.all()
+				.collectMap(LockedAccount::id)
+				.flatMap(accounts -> {
+					LockedAccount accountFrom = accounts.get(accountFromId);
+					LockedAccount accountTo = accounts.get(accountToId);
+					if (accountFrom == null)
+						return Mono.error(new BankAccountNotFoundException(accountFromId, ACCOUNT_ROLE_DEBIT));
+					if (accountTo == null)
+						return Mono.error(new BankAccountNotFoundException(accountToId, ACCOUNT_ROLE_CREDIT));
+					if (accountFrom.balanceInCents() < transferAmountInCents)
+						return Mono.error(new InsufficientBalanceForTransferException(
+								accountFromId, accountFrom.balanceInCents(), -transferAmountInCents));
+
+					UUID id = TimeOrderedUuids.nextUuid();
+					return updateBalance(accountFromId, -transferAmountInCents)
+							.then(updateBalance(accountToId, transferAmountInCents))
+							.then(databaseClient.sql(INSERT_TRANSFER_ORDER)
+									.bind("id", id)
+									.bind("accountFromId", accountFromId)
+									.bind("accountToId", accountToId)
+									.bind("amountInCents", transferAmountInCents)
+									.bind("createdOn", timestamp(creationTimestamp(accountFrom, accountTo)))
+									.then())
+							.thenReturn(id);
+				});
+	}
+
+	private Mono<Long> updateBalance(Long accountId, long deltaInCents) {
+		return databaseClient.sql(UPDATE_BALANCE)
+				.bind("accountId", accountId)
+				.bind("deltaInCents", deltaInCents)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	private boolean isRejection(Throwable e) {
+		return e instanceof SameBankAccountTransferNotAllowedException || e instanceof TransferAmountTooLowException ||
+				e instanceof BankAccountNotFoundException || e instanceof InsufficientBalanceForTransferException;
+	}
+
+	/**
+	 * Dates a transfer right after the latest balance checkpoint of its accounts if the clock says otherwise, so that
+	 * it is always counted in their live balances (see {@code TransferOrder.creationTimestamp} of the servlet variant)
+	 */
+	private static Instant creationTimestamp(LockedAccount accountFrom, LockedAccount accountTo) {
+		Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		for (Instant checkpointedOn : new Instant[] {accountFrom.checkpointedOn(), accountTo.checkpointedOn()}) {
+			if (checkpointedOn != null && !timestamp.isAfter(checkpointedOn))
+				timestamp = checkpointedOn.plus(1, ChronoUnit.MICROS);
+		}
+		return timestamp;
+	}
+
+	private static TransferHistoryCursor cursorAfter(List<TransferOrderResource> page) {
+		TransferOrderResource last = page.get(page.size() - 1);
+		return new TransferHistoryCursor(last.getCreatedOn(), last.getId());
+	}
+
+	private static OffsetDateTime timestamp(Instant instant) {
+		return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+	}
+
+	private static Instant instant(Readable row, String column) {
+		OffsetDateTime timestamp = row.get(column, OffsetDateTime.class);
+		return (timestamp != null) ? timestamp.toInstant() : null;
+	}
+
+	private record LockedAccount(Long id, long balanceInCents, Instant checkpointedOn) {}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.reactive.service;
+
+import net.bopsys.banking.exception.CustomerNotFoundException;
+import net.bopsys.banking.model.dto.CustomerDto;
+import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.service.bulk.ImportProgress;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Non-blocking counterpart of the customer service of the servlet variant, over R2DBC.
+ * <p>
+ * Customers are identified by the caller, so saving one that exists updates it. Imports consume the customers as they
+ * are decoded from the request body, and write them in chunks of {@code banking.customer-import.batch-size}, each one
+ * as a single batched statement in its own transaction.
+ *
+ * @author Marco Ruiz
+ */
+@Service
+public class ReactiveCustomerService {
+
+	private static final String MERGE_CUSTOMER = "merge into customer (id, name) key (id) values ($1, $2)";
+
+	private final DatabaseClient databaseClient;
+	private final TransactionalOperator transactionalOperator;
+	private final Validator validator;
+	private final int batchSize;
+	private final int maxReportedErrors;
+
+	public ReactiveCustomerService(
+			DatabaseClient databaseClient,
+			TransactionalOperator transactionalOperator,
+			Validator validator,
+			@Value("${banking.customer-import.batch-size:500}") int batchSize,
+			@Value("${banking.customer-import.max-reported-errors:1000}") int maxReportedErrors) {
+
+		this.databaseClient = databaseClient;
+		this.transactionalOperator = transactionalOperator;
+		this.validator = validator;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	public Mono<CustomerResource> createCustomer(CustomerDto dto) {
+		return merge(List.of(dto))
+				.as(transactionalOperator::transactional)
+				.thenReturn(buildCustomerResource(dto.getId(), dto.getName()));
+	}
+
+	public Mono<CustomerResource> getCustomer(Long customerId) {
+		return databaseClient.sql("select id, name from customer where id = :customerId")
+				.bind("customerId", customerId)
+				.map(row -> buildCustomerResource(row.get("id", Long.class), row.get("name", String.class)))
+				.one()
+				.switchIfEmpty(Mono.error(() -> new CustomerNotFoundException(customerId)));
+	}
+
+	public Flux<CustomerResource> getCustomers() {
+		return databaseClient.sql("select id, name from customer order by id")
+				.map(row -> buildCustomerResource(row.get("id", Long.class), row.get("name", String.class)))
+				.all();
+	}
+
+	/**
+	 * Imports customers as they arrive. Invalid customers are reported and skipped, and a chunk failing to be written
+	 * is written again one customer at a time, so that only the customers at fault are reported and skipped. Content
+	 * that cannot be decoded ends the import, but keeps the chunks written until then
+	 *
+	 * @param dtos Customers to import
+	 * @return {@link ImportReportResource} of the import
+	 */
+	public Mono<ImportReportResource> importCustomers(Flux<CustomerDto> dtos) {
+		ImportProgress progress = new ImportProgress(maxReportedErrors);
+		AtomicLong decoded = new AtomicLong();
+
+		return dtos
+				.doOnNext(dto -> decoded.incrementAndGet())
+				.index()
+				.doOnNext(item -> progress.processed(1))
+				.filter(item -> isValid(item, progress))
+				.buffer(batchSize)
+				.concatMap(chunk -> write(chunk, progress))
+				.then(Mono.fromRunnable(progress::completed))
+				.onErrorResume(DecodingException.class, e -> Mono.fromRunnable(() -> {
+					progress.processed(1);
+					progress.failed(decoded.get(), String.format("Malformed content: %s",
+							NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+				}))
+				.then(Mono.fromSupplier(progress::report));
+	}
+
+	private boolean isValid(Tuple2<Long, CustomerDto> item, ImportProgress progress) {
+		Set<ConstraintViolation<CustomerDto>> violations = validator.validate(item.getT2());
+		if (violations.isEmpty())
+			return true;
+
+		progress.failed(item.getT1(), violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", ")));
+		return false;
+	}
+
+	private Mono<Void> write(List<Tuple2<Long, CustomerDto>> chunk, ImportProgress progress) {
+		List<CustomerDto> dtos = chunk.stream().map(Tuple2::getT2).toList();
+		return merge(dtos)
+				.as(transactionalOperator::transactional)
+				.doOnSuccess(merged -> progress.imported(chunk.size()))
+				.then()
+				// Isolates the customers at fault by writing the chunk again one customer at a time
+				.onErrorResume(e -> Flux.fromIterable(chunk)
+						.concatMap(item -> merge(List.of(item.getT2()))
+								.as(transactionalOperator::transactional)
+								.doOnSuccess(merged -> progress.imported(1))
+								.onErrorResume(itemError -> {
+									progress.failed(item.getT1(),
+											NestedExceptionUtils.getMostSpecificCause(itemError).getMessage());
+									return Mono.empty();
+								}))
+						.then());
+	}
+
+	private Mono<Long> merge(List<CustomerDto> dtos) {
+		return databaseClient.inConnectionMany(connection -> {
+			Statement statement = connection.createStatement(MERGE_CUSTOMER);
+			for (int i = 0; i < dtos.size(); i++) {
+				if (i > 0)
+					statement.add();
+				statement.bind(0, dtos.get(i).getId()).bind(1, dtos.get(i).getName());
+			}
+			return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+		}).reduce(0L, Long::sum);
+	}
+
+	// RESOURCE BUILDERS
+
+	private static CustomerResource buildCustomerResource(Long id, String name) {
+		return CustomerResource.builder()
+				.id(id)
+				.name(name)
+				.build();
+	}
+}
@@ -0,0 +1,5 @@
+merge into customer (id, name) key (id) values
+    (1, 'Arisha Barron'),
+    (2, 'Branden Gibson'),
+    (3, 'Rhonda Church'),
+    (4, 'Georgina Hazel');
@@ -0,0 +1,36 @@
+-- Same tables as those the servlet variant maps with JPA, so that both variants can share a database
+
+create table if not exists customer (
+    id bigint not null primary key,
+    name varchar(255)
+);
+
+create table if not exists bank_account (
+    id bigint generated by default as identity primary key,
+    customer_id bigint references customer (id),
+    initial_balance_in_cents bigint not null,
+    balance_in_cents bigint not null,
+    created_on timestamp(6) with time zone,
+    checkpointed_on timestamp(6) with time zone,
+    version bigint not null
+);
+
+create table if not exists transfer_order (
+    id uuid not null primary key,
+    account_from_id bigint references bank_account (id),
+    account_to_id bigint references bank_account (id),
+    amount_transferred_in_cents bigint not null,
+    created_on timestamp(6) with time zone
+);
+
+create index if not exists idx_transfer_order_account_from_created_on on transfer_order (account_from_id, created_on, id);
+create index if not exists idx_transfer_order_account_to_created_on on transfer_order (account_to_id, created_on, id);
+
+create table if not exists balance_checkpoint (
+    id bigint generated by default as identity primary key,
+    account_id bigint references bank_account (id),
+    balance_in_cents bigint not null,
+    as_of timestamp(6) with time zone
+);
+
+create index if not exists idx_balance_checkpoint_account_as_of on balance_checkpoint (account_id, as_of);
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.reactive;
+
+import net.bopsys.banking.model.dto.BankAccountCreateDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.reactive.service.ReactiveBankingService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"spring.r2dbc.url=r2dbc:h2:mem:///reactive-app;DB_CLOSE_DELAY=-1",
+				"banking.transfer-history.stream-page-size=2",
+				"banking.customer-import.batch-size=2"
+		})
+@AutoConfigureWebTestClient
+class ReactiveBankAppTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private ReactiveBankingService bankingService;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Autowired
+	private TransactionalOperator transactionalOperator;
+
+	@Test
+	void whenTransferring_thenBalancesAndStreamedHistoryShouldReflectIt() {
+		Long accountFromId = createAccount(1L, 10_000);
+		Long accountToId = createAccount(2L, 0);
+
+		// WHEN
+		for (int i = 1; i <= 5; i++)
+			webTestClient.post().uri("/api/bankAccounts/{id}/transfers", accountFromId)
+					.bodyValue(new TransferOrderDto(accountToId, 100L * i))
+					.exchange()
+					.expectStatus().isOk();
+
+		// THEN
+		assertEquals(8_500L, getBalance(accountFromId, true));
+		assertEquals(8_500L, getBalance(accountFromId, false));
+		assertEquals(1_500L, getBalance(accountToId, true));
+
+		Flux<TransferOrderResource> history = webTestClient.get().uri("/api/bankAccounts/{id}/transfers", accountToId)
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(TransferOrderResource.class)
+				.getResponseBody();
+
+		StepVerifier.create(history, 1)
+				.assertNext(transfer -> assertEquals(100L, transfer.getTransferAmountInCents()))
+				.thenRequest(4)
+				.expectNextCount(3)
+				.assertNext(transfer -> assertEquals(500L, transfer.getTransferAmountInCents()))
+				.verifyComplete();
+	}
+
+	@Test
+	void whenStreamingHistoryWithBoundedDemand_thenPagesShouldOnlyBeQueriedAsRequested() {
+		Long accountFromId = createAccount(1L, 10_000);
+		Long accountToId = createAccount(2L, 0);
+		for (int i = 1; i <= 20; i++)
+			bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 10L)).block();
+
+		AtomicInteger queries = new AtomicInteger();
+		DatabaseClient countingDatabaseClient = Mockito.mock(DatabaseClient.class, invocation -> {
+			if (invocation.getMethod().getName().equals("sql"))
+				queries.incrementAndGet();
+			return invocation.getMethod().invoke(databaseClient, invocation.getArguments());
+		});
+		ReactiveBankingService countingBankingService =
+				new ReactiveBankingService(countingDatabaseClient, transactionalOperator, 2);
+
+		// WHEN / THEN
+		StepVerifier.create(countingBankingService.streamTransferHistory(accountToId), 1)
+				.expectNextCount(1)
+				// The page being consumed and, at most, the next one
+				.then(() -> assertTrue(queries.get() <= 2))
+				.thenRequest(2)
+				.expectNextCount(2)
+				.then(() -> assertTrue(queries.get() <= 3))
+				.thenRequest(Long.MAX_VALUE)
+				.expectNextCount(17)
+				.verifyComplete();
+
+		// 10 full pages and the empty one after them
+		assertEquals(11, queries.get());
+	}
+
+	@Test
+	void whenTransferringMoreThanTheBalance_thenTransferShouldBeRejected() {
+		Long accountFromId = createAccount(3L, 100);
+		Long accountToId = createAccount(4L, 0);
+
+		// WHEN
+		webTestClient.post().uri("/api/bankAccounts/{id}/transfers", accountFromId)
+				.bodyValue(new TransferOrderDto(accountToId, 101L))
+				.exchange()
+		// THEN
+				.expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+		assertEquals(100L, getBalance(accountFromId, false));
+		webTestClient.get().uri("/api/bankAccounts/{id}", Long.MAX_VALUE)
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void whenImportingCustomers_thenInvalidOnesShouldBeReportedAndTheRestSaved() {
+		String customers = """
+				[{"id": 100, "name": "Ana"}, {"id": 101}, {"id": 102, "name": "Luis"}, {"id": 1, "name": "Arisha"}]""";
+
+		// WHEN
+		ImportReportResource report = webTestClient.post().uri("/api/customers/import")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(customers)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(ImportReportResource.class)
+				.returnResult()
+				.getResponseBody();
+
+		// THEN
+		assertNotNull(report);
+		assertEquals(4, report.getProcessed());
+		assertEquals(3, report.getImported());
+		assertEquals(1, report.getFailed());
+		assertEquals(1, report.getErrors().get(0).getIndex());
+		webTestClient.get().uri("/api/customers/{id}", 102)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.name").isEqualTo("Luis");
+	}
+
+	@Test
+	void whenImportingMalformedCustomers_thenImportShouldStopIncomplete() {
+		// WHEN
+		ImportReportResource report = webTestClient.post().uri("/api/customers/import")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("[{\"id\": 200, \"name\": \"Eva\"}, {\"id\": ")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(ImportReportResource.class)
+				.returnResult()
+				.getResponseBody();
+
+		// THEN
+		assertNotNull(report);
+		assertFalse(report.isCompleted());
+		assertEquals(1, report.getFailed());
+	}
+
+	private Long createAccount(Long customerId, long initialBalanceInCents) {
+		BankAccountResource account = webTestClient.post().uri("/api/bankAccounts/")
+				.bodyValue(new BankAccountCreateDto(customerId, initialBalanceInCents))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(BankAccountResource.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertNotNull(account);
+		return account.getId();
+	}
+
+	private long getBalance(Long accountId, boolean cached) {
+		Long balance = webTestClient.get().uri("/api/bankAccounts/{id}/balanceInCents?cached={cached}", accountId, cached)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(Long.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertNotNull(balance);
+		return balance;
+	}
+}
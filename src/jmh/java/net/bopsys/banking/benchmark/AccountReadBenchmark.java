@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the reads of an account with a transfer history of increasing length: its live balance
+ * ({@link BankingService#computeBalanceInCents(Long)}, with balance checkpoints disabled so that the whole history is
+ * aggregated), its whole transfer history, the first page of it, and the whole history serialized as the JSON the
+ * history endpoint responds with.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AccountReadBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	@Param({"100", "10000", "100000"})
+	public int transfers;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private ObjectMapper objectMapper;
+	private Long accountId;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("account-read-" + transfers, "--banking.balance-checkpoint.enabled=false");
+		bankingService = context.getBean(BankingService.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+
+		accountId = bankingService.createAccount(1L, 1_000_000).getId();
+		Long counterpartyId = bankingService.createAccount(2L, 1_000_000).getId();
+		BenchmarkApplications.insertTransfers(context, accountId, counterpartyId, transfers);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long computeBalanceInCents() {
+		return bankingService.computeBalanceInCents(accountId);
+	}
+
+	@Benchmark
+	public List<TransferOrderResource> getTransferHistory() {
+		return bankingService.getTransferHistory(accountId);
+	}
+
+	@Benchmark
+	public TransferOrderPageResource getTransferHistoryPage() {
+		return bankingService.getTransferHistoryPage(accountId, null, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public byte[] getTransferHistoryJson() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(bankingService.getTransferHistory(accountId));
+	}
+}
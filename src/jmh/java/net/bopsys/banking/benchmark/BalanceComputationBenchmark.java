@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.repository.BankAccountRepository;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing the live balance of an account by aggregating its transfers in the database against loading and
+ * folding its whole transfer history in memory (the former implementation of
+ * {@link BankingService#computeBalanceInCents(Long)}), for accounts of increasing history length.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class BalanceComputationBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	public int transfers;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private BankAccountRepository bankAccountRepository;
+	private Long accountId;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("balance-" + transfers, "--banking.balance-checkpoint.enabled=false");
+		bankingService = context.getBean(BankingService.class);
+		bankAccountRepository = context.getBean(BankAccountRepository.class);
+
+		accountId = bankingService.createAccount(1L, 1_000_000).getId();
+		Long counterpartyId = bankingService.createAccount(2L, 1_000_000).getId();
+
+		BenchmarkApplications.insertTransfers(context, accountId, counterpartyId, transfers);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long databaseAggregate() {
+		return bankingService.computeBalanceInCents(accountId);
+	}
+
+	@Benchmark
+	public long inMemoryStreamSum() {
+		long aggregatedTransferAmount = bankingService.getTransferHistory(accountId).stream()
+				.mapToLong(t -> t.getTransferAmountInCents(accountId))
+				.sum();
+		return bankAccountRepository.findBankAccount(accountId).getInitialBalanceInCents() + aggregatedTransferAmount;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.BankApp;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the banking application, without its web tier, against a private in-memory database for a benchmark trial.
+ *
+ * @author Marco Ruiz
+ */
+public final class BenchmarkApplications {
+
+	private BenchmarkApplications() {}
+
+	/**
+	 * @param databaseName Name of the in-memory database backing the application; must be unique per trial
+	 * @param extraArgs Additional command line arguments (e.g. {@code --banking.transfer.mode=optimistic})
+	 * @return Running application context; the caller is responsible for closing it
+	 */
+	public static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+		List<String> args = new ArrayList<>(List.of(
+				"--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";LOCK_TIMEOUT=30000",
+				"--spring.datasource.hikari.maximum-pool-size=32",
+				"--spring.jpa.properties.hibernate.show_sql=false",
+				"--logging.level.root=WARN"
+		));
+		args.addAll(Arrays.asList(extraArgs));
+
+		return new SpringApplicationBuilder(BankApp.class)
+				.web(WebApplicationType.NONE)
+				.run(args.toArray(String[]::new));
+	}
+
+	/**
+	 * Inserts a history of transfers between two accounts straight in the database, alternating their direction and
+	 * leaving the balances of the accounts untouched: going through the service would take hours for the largest
+	 * histories
+	 *
+	 * @param context Running application context
+	 * @param accountId Identifier of the bank account of interest
+	 * @param counterpartyId Identifier of the bank account on the other side of every transfer
+	 * @param transfers Number of transfers to insert
+	 */
+	public static void insertTransfers(ConfigurableApplicationContext context, Long accountId, Long counterpartyId,
+			int transfers) {
+
+		context.getBean(JdbcTemplate.class).update("""
+				insert into transfer_order (id, account_from_id, account_to_id, amount_transferred_in_cents, created_on)
+				select random_uuid(),
+					case when mod(x, 2) = 0 then ? else ? end,
+					case when mod(x, 2) = 0 then ? else ? end,
+					mod(x, 1000) + 1,
+					dateadd('SECOND', -x, current_timestamp)
+				from system_range(1, ?)
+				""", accountId, counterpartyId, counterpartyId, accountId, transfers);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.dto.CustomerDto;
+import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.service.interfaces.CustomerService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@link CustomerService#createCustomers(List)} for batches of increasing size. Every invocation creates
+ * customers that do not exist yet, so the batch is inserted rather than updated.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CustomerCreationBenchmark {
+
+	@Param({"1", "100", "1000"})
+	public int batchSize;
+
+	private final AtomicLong nextCustomerId = new AtomicLong(1_000_000);
+
+	private ConfigurableApplicationContext context;
+	private CustomerService customerService;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("customer-creation-" + batchSize);
+		customerService = context.getBean(CustomerService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<CustomerResource> createCustomers() {
+		long firstId = nextCustomerId.getAndAdd(batchSize);
+		List<CustomerDto> dtos = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++)
+			dtos.add(new CustomerDto(firstId + i, "Customer " + (firstId + i)));
+
+		return customerService.createCustomers(dtos);
+	}
+}
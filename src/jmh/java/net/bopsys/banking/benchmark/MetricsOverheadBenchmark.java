@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.transfer.TransferMetrics;
+import net.bopsys.banking.service.transfer.TransferMetrics.Phase;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the transfer metrics and of the Hibernate statistics behind the {@code hibernate.*} meters:
+ * transfers with both on (the default) against transfers with both off, along with the cost of timing the phases of
+ * a single transfer by itself.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class MetricsOverheadBenchmark {
+
+	private static final int ACCOUNTS = 10_000;
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000_000L;
+
+	@Param({"true", "false"})
+	public boolean instrumented;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private TransferMetrics transferMetrics;
+	private long[] accountIds;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("metrics-overhead-" + instrumented,
+				"--banking.metrics.enabled=" + instrumented,
+				"--spring.jpa.properties.hibernate.generate_statistics=" + instrumented);
+		bankingService = context.getBean(BankingService.class);
+		transferMetrics = context.getBean(TransferMetrics.class);
+
+		accountIds = new long[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++)
+			accountIds[i] = bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object transfer() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int fromIndex = random.nextInt(ACCOUNTS);
+		int toIndex = (fromIndex + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+		return bankingService.createTransferOrder(accountIds[fromIndex], new TransferOrderDto(accountIds[toIndex], 1));
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public TransferMetrics.Stopwatch phaseTiming() {
+		TransferMetrics.Stopwatch stopwatch = transferMetrics.start();
+		for (Phase phase : Phase.values())
+			stopwatch.lap(phase);
+		return stopwatch;
+	}
+}
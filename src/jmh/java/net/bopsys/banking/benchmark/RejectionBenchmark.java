@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rejected transfers:
+ * <ul>
+ *     <li>Rejecting one {@code depth} frames down the stack (e.g. under the web and proxy frames of a request) with an
+ *     exception capturing its stack trace and formatting its message upfront (the former shape of the business
+ *     exceptions) against the current stackless, lazily formatted one</li>
+ *     <li>Throughput of a transfer workload where a share of {@code rejectionRatio} of the transfers is rejected for
+ *     lack of balance, as during card testing</li>
+ * </ul>
+ *
+ * @author Marco Ruiz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class RejectionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class CallStack {
+
+		@Param({"20", "150"})
+		public int depth;
+	}
+
+	@State(Scope.Benchmark)
+	public static class Workload {
+
+		private static final int ACCOUNTS = 1_000;
+		private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000_000L;
+
+		@Param({"0.5", "0.9"})
+		public double rejectionRatio;
+
+		private ConfigurableApplicationContext context;
+		private BankingService bankingService;
+		private long[] fundedAccountIds;
+		private long[] emptyAccountIds;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			context = BenchmarkApplications.start("rejection-" + rejectionRatio);
+			bankingService = context.getBean(BankingService.class);
+
+			fundedAccountIds = new long[ACCOUNTS];
+			emptyAccountIds = new long[ACCOUNTS];
+			for (int i = 0; i < ACCOUNTS; i++) {
+				fundedAccountIds[i] = bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId();
+				emptyAccountIds[i] = bankingService.createAccount(2L, 0).getId();
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			context.close();
+		}
+	}
+
+	@Benchmark
+	public RuntimeException eagerRejection(CallStack callStack) {
+		return rejectAt(callStack.depth, true);
+	}
+
+	@Benchmark
+	public RuntimeException stacklessRejection(CallStack callStack) {
+		return rejectAt(callStack.depth, false);
+	}
+
+	@Benchmark
+	public Object transferWorkload(Workload workload) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long[] accountFromIds = (random.nextDouble() < workload.rejectionRatio) ?
+				workload.emptyAccountIds :
+				workload.fundedAccountIds;
+		long accountFromId = accountFromIds[random.nextInt(Workload.ACCOUNTS)];
+		long accountToId = workload.fundedAccountIds[random.nextInt(Workload.ACCOUNTS)];
+		if (accountFromId == accountToId)
+			return null;
+
+		try {
+			return workload.bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 1));
+		} catch (InsufficientBalanceForTransferException e) {
+			return e;
+		}
+	}
+
+	private static RuntimeException rejectAt(int depth, boolean eager) {
+		if (depth > 0)
+			return rejectAt(depth - 1, eager);
+
+		try {
+			long balanceInCents = ThreadLocalRandom.current().nextLong(100);
+			throw eager ?
+					new EagerInsufficientBalanceException(11L, balanceInCents, -100) :
+					new InsufficientBalanceForTransferException(11L, balanceInCents, -100);
+		} catch (RuntimeException e) {
+			return e;
+		}
+	}
+
+	/**
+	 * Former shape of {@link InsufficientBalanceForTransferException}
+	 */
+	private static class EagerInsufficientBalanceException extends RuntimeException {
+
+		EagerInsufficientBalanceException(Long accountId, long balanceInCents, long cents) {
+			super(String.format("Account %s cannot be debited %d cents due to insufficient balance (balance: %d)",
+					accountId, cents, balanceInCents));
+		}
+	}
+}
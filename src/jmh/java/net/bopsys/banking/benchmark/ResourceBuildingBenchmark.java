@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.interfaces.CustomerService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the account and customer resources served by the API, out of a pool of accounts of increasing
+ * size, either projected straight from the database or served from the resource caches.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ResourceBuildingBenchmark {
+
+	private static final long CUSTOMERS = 4;
+
+	@Param({"1000", "10000"})
+	public int accounts;
+
+	@Param({"true", "false"})
+	public boolean cached;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private CustomerService customerService;
+	private long[] accountIds;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("resource-building-" + accounts + "-" + cached,
+				"--banking.account-cache.enabled=" + cached,
+				"--banking.customer-cache.enabled=" + cached);
+		bankingService = context.getBean(BankingService.class);
+		customerService = context.getBean(CustomerService.class);
+
+		accountIds = new long[accounts];
+		for (int i = 0; i < accounts; i++)
+			accountIds[i] = bankingService.createAccount((i % CUSTOMERS) + 1, 1_000_000).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public BankAccountResource getBankAccount() {
+		return bankingService.getBankAccount(accountIds[ThreadLocalRandom.current().nextInt(accounts)]);
+	}
+
+	@Benchmark
+	public CustomerResource getCustomer() {
+		return customerService.getCustomer(ThreadLocalRandom.current().nextLong(CUSTOMERS) + 1);
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.idempotency.IdempotentTransferService;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures transfer requests during a retry storm, where a share of {@code duplicateRatio} of the requests repeats the
+ * previous request of its client (e.g. after a timeout):
+ * <ul>
+ *     <li>Without idempotency keys, every repeat runs the transfer again</li>
+ *     <li>With idempotency keys, repeats are answered from memory ({@code dedupe=memory}) or, with the in-memory
+ *     dedupe disabled, from the key table ({@code dedupe=database}), as on a node which has not seen the key</li>
+ * </ul>
+ *
+ * @author Marco Ruiz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class RetryStormBenchmark {
+
+	private static final int ACCOUNTS = 1_000;
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000_000L;
+
+	@Param({"0.5", "0.9"})
+	public double duplicateRatio;
+
+	@Param({"memory", "database"})
+	public String dedupe;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private IdempotentTransferService idempotentTransferService;
+	private long[] accountIds;
+
+	@State(Scope.Thread)
+	public static class Client {
+
+		private long accountFromId;
+		private TransferOrderDto dto;
+		private String idempotencyKey;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String maximumSize = dedupe.equals("memory") ? "100000" : "0";
+		context = BenchmarkApplications.start("retry-storm-" + dedupe + "-" + duplicateRatio,
+				"--banking.idempotency.maximum-size=" + maximumSize);
+		bankingService = context.getBean(BankingService.class);
+		idempotentTransferService = context.getBean(IdempotentTransferService.class);
+
+		accountIds = new long[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++)
+			accountIds[i] = bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object withoutKey(Client client) {
+		nextRequest(client);
+		return bankingService.createTransferOrder(client.accountFromId, client.dto);
+	}
+
+	@Benchmark
+	public UUID withKey(Client client) {
+		nextRequest(client);
+		return idempotentTransferService.createTransferOrder(client.accountFromId, client.dto, client.idempotencyKey);
+	}
+
+	private void nextRequest(Client client) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (client.dto != null && random.nextDouble() < duplicateRatio)
+			return;
+
+		int from = random.nextInt(ACCOUNTS);
+		int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+		client.accountFromId = accountIds[from];
+		client.dto = new TransferOrderDto(accountIds[to], 1);
+		client.idempotencyKey = UUID.randomUUID().toString();
+	}
+}
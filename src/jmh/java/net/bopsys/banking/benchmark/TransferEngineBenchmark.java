@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the transfer engines ({@code banking.engine}): transfers persisted synchronously to the database against
+ * transfers acknowledged once group committed to the local journal and persisted to the database in the background,
+ * validated either under striped locks ({@code journal}) or by a single sequencer thread ({@code ledger}).
+ * Run in both throughput and sample time modes to get the latency percentiles along with transfers per second.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(64)
+public class TransferEngineBenchmark {
+
+	private static final int ACCOUNTS = 10_000;
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000_000L;
+
+	@Param({"jpa", "journal", "ledger"})
+	public String engine;
+
+	private Path journalDirectory;
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private long[] accountIds;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		journalDirectory = Files.createTempDirectory("transfer-journal");
+		context = BenchmarkApplications.start("transfer-engine-" + engine,
+				"--banking.engine=" + engine,
+				"--banking.journal.path=" + journalDirectory.resolve("transfer-journal.log"));
+		bankingService = context.getBean(BankingService.class);
+
+		accountIds = new long[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++)
+			accountIds[i] = bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		context.close();
+		try (var files = Files.list(journalDirectory)) {
+			for (Path file : files.toList())
+				Files.delete(file);
+		}
+		Files.delete(journalDirectory);
+	}
+
+	@Benchmark
+	public Object transfer() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int fromIndex = random.nextInt(ACCOUNTS);
+		int toIndex = (fromIndex + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+		return bankingService.createTransferOrder(accountIds[fromIndex], new TransferOrderDto(accountIds[toIndex], 1));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up the transfer history of an account with an {@code OR} across both account columns (the former
+ * derived query) against merging two index range scans with a {@code UNION ALL}, on a large transfer table. The
+ * query plans of both are printed during setup.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TransferLookupBenchmark {
+
+	private static final String OR_QUERY = """
+			select * from transfer_order
+			where account_from_id = ? or account_to_id = ?
+			order by created_on, id
+			""";
+
+	private static final String UNION_QUERY = """
+			select * from (
+				select * from transfer_order where account_from_id = ?
+				union all
+				select * from transfer_order where account_to_id = ?
+			) t
+			order by t.created_on, t.id
+			""";
+
+	@Param({"10000000"})
+	public int transfers;
+
+	@Param({"100000"})
+	public int accounts;
+
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private long firstAccountId;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("lookup-" + transfers);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		jdbcTemplate.update("""
+				insert into bank_account (customer_id, initial_balance_in_cents, balance_in_cents, created_on, version)
+				select 1, 0, 0, current_timestamp, 0 from system_range(1, ?)
+				""", accounts);
+		firstAccountId = jdbcTemplate.queryForObject("select min(id) from bank_account", Long.class);
+
+		// Every transfer debits and credits two different accounts picked round robin
+		jdbcTemplate.update("""
+				insert into transfer_order (id, account_from_id, account_to_id, amount_transferred_in_cents, created_on)
+				select random_uuid(),
+					? + mod(x, ?),
+					? + mod(x + 1 + mod(x / ?, ? - 1), ?),
+					1,
+					dateadd('MILLISECOND', x, timestamp with time zone '2020-01-01 00:00:00+00')
+				from system_range(1, ?)
+				""", firstAccountId, accounts, firstAccountId, accounts, accounts, accounts, transfers);
+
+		printPlan("OR", OR_QUERY);
+		printPlan("UNION ALL", UNION_QUERY);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int orFilter() {
+		long accountId = randomAccountId();
+		return jdbcTemplate.queryForList(OR_QUERY, accountId, accountId).size();
+	}
+
+	@Benchmark
+	public int unionOfIndexRangeScans() {
+		long accountId = randomAccountId();
+		return jdbcTemplate.queryForList(UNION_QUERY, accountId, accountId).size();
+	}
+
+	private long randomAccountId() {
+		return firstAccountId + ThreadLocalRandom.current().nextInt(accounts);
+	}
+
+	private void printPlan(String label, String query) {
+		System.out.printf("%n----- %s plan -----%n", label);
+		jdbcTemplate.queryForList("explain analyze " + query, String.class, firstAccountId, firstAccountId)
+				.forEach(System.out::println);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BankingService#createTransferOrder} on the default engine, between random pairs out of a pool of
+ * accounts of increasing size: the fewer the accounts, the more concurrent transfers contend for the same ones. Run
+ * at several concurrency levels with {@code ./gradlew jmhHotPaths}.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class TransferOrderCreationBenchmark {
+
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000_000L;
+
+	@Param({"10", "1000", "10000"})
+	public int accounts;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private long[] accountIds;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("transfer-order-creation-" + accounts);
+		bankingService = context.getBean(BankingService.class);
+
+		accountIds = new long[accounts];
+		for (int i = 0; i < accounts; i++)
+			accountIds[i] = bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object createTransferOrder() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int fromIndex = random.nextInt(accounts);
+		int toIndex = (fromIndex + 1 + random.nextInt(accounts - 1)) % accounts;
+		return bankingService.createTransferOrder(accountIds[fromIndex], new TransferOrderDto(accountIds[toIndex], 1));
+	}
+}
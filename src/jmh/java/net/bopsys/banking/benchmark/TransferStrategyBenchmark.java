@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.exception.TransferConflictException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the transfer strategies ({@code banking.transfer.mode}) when a fraction of all transfers
+ * (the hot account skew) credit one single account, as merchant settlement accounts do.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+public class TransferStrategyBenchmark {
+
+	private static final int ACCOUNTS = 1_000;
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000_000L;
+
+	@Param({"striped", "optimistic", "pessimistic"})
+	public String mode;
+
+	@Param({"0.01", "0.10", "0.50"})
+	public double hotAccountSkew;
+
+	private ConfigurableApplicationContext context;
+	private BankingService bankingService;
+	private long[] accountIds;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkApplications.start("transfers-" + mode + "-" + hotAccountSkew,
+				"--banking.transfer.mode=" + mode);
+		bankingService = context.getBean(BankingService.class);
+
+		accountIds = new long[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++)
+			accountIds[i] = bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Transfers rejected by the optimistic strategy after running out of attempts
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Rejections {
+		public long conflicts;
+	}
+
+	@Benchmark
+	public Object transfer(Rejections rejections) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		// Account at index 0 is the hot one
+		int fromIndex = 1 + random.nextInt(ACCOUNTS - 1);
+		int toIndex = (random.nextDouble() < hotAccountSkew) ? 0 : 1 + random.nextInt(ACCOUNTS - 1);
+		if (toIndex == fromIndex)
+			toIndex = 0;
+
+		try {
+			return bankingService.createTransferOrder(accountIds[fromIndex], new TransferOrderDto(accountIds[toIndex], 1));
+		} catch (TransferConflictException e) {
+			rejections.conflicts++;
+			return e;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.benchmark;
+
+import net.bopsys.banking.model.entity.TimeOrderedUuidGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the insert throughput into a large table keyed by random (version 4) UUIDs against time-ordered (version 7)
+ * UUIDs, as generated for {@link net.bopsys.banking.model.entity.TransferOrder} ids. The table lives in a file-backed
+ * database with a page cache much smaller than its primary key index, so that random inserts pay for cache misses.
+ *
+ * @author Marco Ruiz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+	private static final int BATCH_SIZE = 1_000;
+
+	@Param({"random", "timeOrdered"})
+	public String keys;
+
+	@Param({"5000000"})
+	public int preloadedRows;
+
+	private Path databaseDirectory;
+	private Connection connection;
+	private PreparedStatement insert;
+	private Supplier<UUID> uuidSupplier;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		uuidSupplier = keys.equals("random") ? UUID::randomUUID : TimeOrderedUuidGenerator::nextUuid;
+
+		databaseDirectory = Files.createTempDirectory("uuid-insert-benchmark");
+		connection = DriverManager.getConnection(
+				"jdbc:h2:file:" + databaseDirectory.resolve("db") + ";CACHE_SIZE=32768", "sa", "");
+		connection.setAutoCommit(false);
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("create table transfer (id uuid primary key, amount_in_cents bigint not null)");
+		}
+
+		insert = connection.prepareStatement("insert into transfer (id, amount_in_cents) values (?, ?)");
+		for (int i = 0; i < preloadedRows / BATCH_SIZE; i++)
+			insertBatch();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		connection.close();
+		try (var files = Files.walk(databaseDirectory)) {
+			files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void insertBatch() throws SQLException {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			insert.setObject(1, uuidSupplier.get());
+			insert.setLong(2, i);
+			insert.addBatch();
+		}
+		insert.executeBatch();
+		connection.commit();
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Closed loop load: a fixed number of clients, each sending its next request as soon as the response to the previous
+ * one arrives. Clients are asynchronous, so thousands of them do not take thousands of threads of the load generator.
+ * <p>
+ * Latencies are recorded in microseconds, from the time each request is sent, once the warm-up is over, and apart for
+ * every endpoint of a mixed load.
+ *
+ * @author Marco Ruiz
+ */
+final class ClosedLoopLoad {
+
+	private static final long MAX_LATENCY_IN_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final HttpClient client;
+	private final Supplier<Operation> operations;
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile boolean recording;
+	private volatile boolean stopped;
+
+	ClosedLoopLoad(HttpClient client, Supplier<Operation> operations) {
+		this.client = client;
+		this.operations = operations;
+	}
+
+	ClosedLoopLoad(HttpClient client, String endpoint, Supplier<HttpRequest> requests) {
+		this(client, () -> new Operation(endpoint, requests.get()));
+	}
+
+	/**
+	 * Runs the load
+	 *
+	 * @param clients Number of concurrent clients
+	 * @param warmUp Time the clients run for before latencies are recorded
+	 * @param duration Time latencies are recorded for
+	 * @return Result of the load
+	 */
+	Result run(int clients, Duration warmUp, Duration duration) throws InterruptedException {
+		for (int i = 0; i < clients; i++)
+			send();
+
+		Thread.sleep(warmUp.toMillis());
+		recorders.values().forEach(Recorder::reset);
+		errors.values().forEach(LongAdder::reset);
+		recording = true;
+
+		long start = System.nanoTime();
+		Thread.sleep(duration.toMillis());
+		long elapsedNanos = System.nanoTime() - start;
+		Map<String, EndpointResult> endpoints = new TreeMap<>();
+		recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint,
+				new EndpointResult(recorder.getIntervalHistogram(), errors.get(endpoint).sum(), elapsedNanos)));
+		stopped = true;
+
+		// Lets the requests in flight complete, so that they do not spill over the next load
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (inFlight.get() > 0 && System.nanoTime() < deadline)
+			Thread.sleep(10);
+
+		return new Result(clients, endpoints, elapsedNanos);
+	}
+
+	private void send() {
+		if (stopped)
+			return;
+
+		inFlight.incrementAndGet();
+		Operation operation = operations.get();
+		// Errors first, so that every endpoint with a recorder has its error counter too
+		LongAdder endpointErrors = errors.computeIfAbsent(operation.endpoint(), endpoint -> new LongAdder());
+		Recorder recorder = recorders.computeIfAbsent(operation.endpoint(),
+				endpoint -> new Recorder(MAX_LATENCY_IN_MICROS, 3));
+		long sentOn = System.nanoTime();
+		client.sendAsync(operation.request(), HttpResponse.BodyHandlers.discarding())
+				.whenComplete((response, failure) -> {
+					if (recording) {
+						recorder.recordValue(Math.min(MAX_LATENCY_IN_MICROS, (System.nanoTime() - sentOn) / 1_000));
+						if (failure != null || response.statusCode() >= 400)
+							endpointErrors.increment();
+					}
+					inFlight.decrementAndGet();
+					send();
+				});
+	}
+
+	/**
+	 * Request to send, along with the name of the endpoint its latency is recorded under
+	 */
+	record Operation(String endpoint, HttpRequest request) {}
+
+	record Result(int clients, Map<String, EndpointResult> endpoints, long elapsedNanos) {
+
+		/**
+		 * @return Result across all the endpoints of the load
+		 */
+		EndpointResult total() {
+			Histogram histogram = new Histogram(MAX_LATENCY_IN_MICROS, 3);
+			long errorCount = 0;
+			for (EndpointResult endpoint : endpoints.values()) {
+				histogram.add(endpoint.histogram());
+				errorCount += endpoint.errors();
+			}
+			return new EndpointResult(histogram, errorCount, elapsedNanos);
+		}
+	}
+
+	record EndpointResult(Histogram histogram, long errors, long elapsedNanos) {
+
+		double throughput() {
+			return histogram.getTotalCount() * 1e9 / elapsedNanos;
+		}
+
+		double percentileInMillis(double percentile) {
+			return histogram.getValueAtPercentile(percentile) / 1_000.0;
+		}
+	}
+}
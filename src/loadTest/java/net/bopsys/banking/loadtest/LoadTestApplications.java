@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.loadtest;
+
+import net.bopsys.banking.BankApp;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the banking application, with its web tier on a random port, against a private in-memory database for a load
+ * test run.
+ *
+ * @author Marco Ruiz
+ */
+public final class LoadTestApplications {
+
+	private LoadTestApplications() {}
+
+	/**
+	 * @param databaseName Name of the in-memory database backing the application; must be unique per run
+	 * @param extraArgs Additional command line arguments (e.g. {@code --spring.profiles.active=virtual-threads})
+	 * @return Running application context; the caller is responsible for closing it
+	 */
+	public static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";LOCK_TIMEOUT=30000",
+				"--spring.jpa.properties.hibernate.show_sql=false",
+				"--logging.level.root=WARN"
+		));
+		args.addAll(Arrays.asList(extraArgs));
+
+		return new SpringApplicationBuilder(BankApp.class).run(args.toArray(String[]::new));
+	}
+
+	/**
+	 * @return Base URI of the API of a running application
+	 */
+	public static URI baseUri(ConfigurableApplicationContext context) {
+		String port = context.getEnvironment().getProperty("local.server.port");
+		String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+		return URI.create("http://localhost:" + port + contextPath);
+	}
+
+	/**
+	 * Creates bank accounts through the service, spread across the seeded customers
+	 *
+	 * @return Identifiers of the bank accounts created
+	 */
+	public static List<Long> createAccounts(ConfigurableApplicationContext context, int accountCount,
+			long initialBalanceInCents) {
+
+		BankingService bankingService = context.getBean(BankingService.class);
+		List<Long> accountIds = new ArrayList<>(accountCount);
+		for (int i = 0; i < accountCount; i++)
+			accountIds.add(bankingService.createAccount((i % 4) + 1L, initialBalanceInCents).getId());
+		return accountIds;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives a closed loop mixed workload over HTTP against the application booted on a random port: account creations,
+ * transfers, transfer history pages, and cached and live balance reads. A small set of hot accounts takes a
+ * configurable share of the traffic, transfers and reads alike, so that contention on them can be tuned. Reports the
+ * throughput and the p50/p99/p999 latencies of every endpoint, and of all of them together.
+ * <p>
+ * Settings (system properties):
+ * <ul>
+ *     <li>{@code loadTest.clients}: concurrent clients, comma separated to run one load per value</li>
+ *     <li>{@code loadTest.accounts}: accounts created upfront</li>
+ *     <li>{@code loadTest.hotAccounts} and {@code loadTest.hotAccountRatio}: size of the hot set, and probability of
+ *     every account picked (e.g. each side of a transfer) to be a hot one</li>
+ *     <li>{@code loadTest.mix}: weight of every endpoint, e.g. {@code transfer:60,history:15,balance:15}</li>
+ *     <li>{@code loadTest.warmUp} and {@code loadTest.duration}: ISO-8601 durations</li>
+ *     <li>{@code loadTest.args}: additional application arguments, space separated (e.g.
+ *     {@code --banking.engine=ledger})</li>
+ * </ul>
+ *
+ * @author Marco Ruiz
+ */
+public class MixedWorkloadLoadTest {
+
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000L;
+	private static final List<String> ENDPOINTS = List.of("createAccount", "transfer", "history", "balance", "liveBalance");
+	private static final String DEFAULT_MIX = "createAccount:5,transfer:60,history:15,balance:15,liveBalance:5";
+
+	private final URI baseUri;
+	private final List<Long> accountIds;
+	private final int hotAccounts;
+	private final double hotAccountRatio;
+	private final String[] endpoints;
+	private final int[] cumulativeWeights;
+
+	MixedWorkloadLoadTest(URI baseUri, List<Long> accountIds, int hotAccounts, double hotAccountRatio,
+			Map<String, Integer> mix) {
+
+		this.baseUri = baseUri;
+		this.accountIds = accountIds;
+		this.hotAccounts = Math.max(1, Math.min(hotAccounts, accountIds.size()));
+		this.hotAccountRatio = hotAccountRatio;
+		this.endpoints = mix.keySet().toArray(String[]::new);
+		this.cumulativeWeights = new int[endpoints.length];
+		int totalWeight = 0;
+		for (int i = 0; i < endpoints.length; i++) {
+			totalWeight += mix.get(endpoints[i]);
+			cumulativeWeights[i] = totalWeight;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int[] clientCounts = Arrays.stream(System.getProperty("loadTest.clients", "64,512").split(","))
+				.map(String::trim)
+				.mapToInt(Integer::parseInt)
+				.toArray();
+		int accountCount = Integer.getInteger("loadTest.accounts", 10_000);
+		int hotAccounts = Integer.getInteger("loadTest.hotAccounts", 10);
+		double hotAccountRatio = Double.parseDouble(System.getProperty("loadTest.hotAccountRatio", "0.5"));
+		Map<String, Integer> mix = parseMix(System.getProperty("loadTest.mix", DEFAULT_MIX));
+		Duration warmUp = Duration.parse(System.getProperty("loadTest.warmUp", "PT10S"));
+		Duration duration = Duration.parse(System.getProperty("loadTest.duration", "PT30S"));
+		String[] appArgs = System.getProperty("loadTest.args", "").trim().split("\\s+");
+
+		System.out.printf("Mix %s, %d accounts, %d hot accounts picked with probability %.2f%n",
+				mix, accountCount, hotAccounts, hotAccountRatio);
+		System.out.printf("%8s %-13s %12s %10s %10s %10s %10s %8s%n",
+				"clients", "endpoint", "requests", "requests/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "errors");
+
+		try (ConfigurableApplicationContext context = LoadTestApplications.start("mixed-workload",
+				Arrays.stream(appArgs).filter(arg -> !arg.isEmpty()).toArray(String[]::new))) {
+
+			List<Long> accountIds = LoadTestApplications.createAccounts(context, accountCount, INITIAL_BALANCE_IN_CENTS);
+			MixedWorkloadLoadTest workload = new MixedWorkloadLoadTest(LoadTestApplications.baseUri(context),
+					accountIds, hotAccounts, hotAccountRatio, mix);
+
+			for (int clients : clientCounts) {
+				HttpClient client = HttpClient.newBuilder()
+						.version(HttpClient.Version.HTTP_1_1)
+						.connectTimeout(Duration.ofSeconds(30))
+						.build();
+				ClosedLoopLoad.Result result = new ClosedLoopLoad(client, workload::nextOperation)
+						.run(clients, warmUp, duration);
+
+				result.endpoints().forEach((endpoint, endpointResult) -> print(clients, endpoint, endpointResult));
+				print(clients, "all", result.total());
+			}
+		}
+		System.exit(0);
+	}
+
+	ClosedLoopLoad.Operation nextOperation() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int weight = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		int index = 0;
+		while (cumulativeWeights[index] <= weight)
+			index++;
+
+		String endpoint = endpoints[index];
+		return new ClosedLoopLoad.Operation(endpoint, switch (endpoint) {
+			case "createAccount" -> post("/bankAccounts/", String.format("{\"customerId\": %d, \"initialBalanceInCents\": %d}",
+					random.nextInt(4) + 1, INITIAL_BALANCE_IN_CENTS));
+			case "transfer" -> transferRequest(random);
+			case "history" -> get("/bankAccounts/" + pickAccount(random) + "/transfers?limit=20");
+			case "balance" -> get("/bankAccounts/" + pickAccount(random) + "/balanceInCents");
+			case "liveBalance" -> get("/bankAccounts/" + pickAccount(random) + "/balanceInCents?cached=false");
+			default -> throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+		});
+	}
+
+	private HttpRequest transferRequest(ThreadLocalRandom random) {
+		Long accountFromId = pickAccount(random);
+		Long accountToId = pickAccount(random);
+		while (accountToId.equals(accountFromId))
+			accountToId = accountIds.get(random.nextInt(accountIds.size()));
+
+		return post("/bankAccounts/" + accountFromId + "/transfers", String.format(
+				"{\"accountToId\": %d, \"transferAmountInCents\": %d}", accountToId, random.nextLong(1, 100)));
+	}
+
+	private Long pickAccount(ThreadLocalRandom random) {
+		int bound = (random.nextDouble() < hotAccountRatio) ? hotAccounts : accountIds.size();
+		return accountIds.get(random.nextInt(bound));
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUri + path))
+				.GET()
+				.build();
+	}
+
+	private HttpRequest post(String path, String json) {
+		return HttpRequest.newBuilder(URI.create(baseUri + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	private static Map<String, Integer> parseMix(String mix) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] endpointAndWeight = entry.trim().split(":");
+			if (!ENDPOINTS.contains(endpointAndWeight[0].trim()))
+				throw new IllegalArgumentException(String.format("Unknown endpoint '%s' in the mix (endpoints: %s)",
+						endpointAndWeight[0].trim(), ENDPOINTS));
+			int weight = Integer.parseInt(endpointAndWeight[1].trim());
+			if (weight > 0)
+				weights.put(endpointAndWeight[0].trim(), weight);
+		}
+		if (weights.isEmpty())
+			throw new IllegalArgumentException("No endpoint with a positive weight in the mix: " + mix);
+		return weights;
+	}
+
+	private static void print(int clients, String endpoint, ClosedLoopLoad.EndpointResult result) {
+		System.out.printf("%8d %-13s %12d %10.0f %10.2f %10.2f %10.2f %8d%n",
+				clients, endpoint, result.histogram().getTotalCount(), result.throughput(),
+				result.percentileInMillis(50), result.percentileInMillis(99), result.percentileInMillis(99.9),
+				result.errors());
+	}
+}
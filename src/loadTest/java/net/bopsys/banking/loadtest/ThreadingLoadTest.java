@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares platform and virtual request threads under a closed loop load of 1k, 5k and 10k concurrent clients on the
+ * transfer and history endpoints. Both run with the 'virtual-threads' profile, so that the connection pool and the
+ * connection limits are the same and only the request threads differ. Virtual threads are only compared on Java 21+.
+ * <p>
+ * Settings (system properties): {@code loadTest.clients} (comma separated), {@code loadTest.accounts},
+ * {@code loadTest.warmUp} and {@code loadTest.duration} (ISO-8601 durations). The load generator opens one connection
+ * per client, so the open file limit of the shell must allow for them (e.g. {@code ulimit -n 65536}).
+ *
+ * @author Marco Ruiz
+ */
+public class ThreadingLoadTest {
+
+	private static final long INITIAL_BALANCE_IN_CENTS = 1_000_000_000L;
+
+	public static void main(String[] args) throws Exception {
+		int[] clientCounts = Arrays.stream(System.getProperty("loadTest.clients", "1000,5000,10000").split(","))
+				.map(String::trim)
+				.mapToInt(Integer::parseInt)
+				.toArray();
+		int accountCount = Integer.getInteger("loadTest.accounts", 10_000);
+		Duration warmUp = Duration.parse(System.getProperty("loadTest.warmUp", "PT10S"));
+		Duration duration = Duration.parse(System.getProperty("loadTest.duration", "PT30S"));
+
+		List<Boolean> virtualThreadModes = new ArrayList<>(List.of(false));
+		if (Runtime.version().feature() >= 21)
+			virtualThreadModes.add(true);
+		else
+			System.out.println("Running on Java " + Runtime.version().feature() + ": virtual threads are not compared");
+
+		System.out.printf("%-9s %-9s %8s %12s %10s %10s %10s %8s%n",
+				"threads", "endpoint", "clients", "requests/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "errors");
+
+		for (boolean virtualThreads : virtualThreadModes) {
+			String threads = virtualThreads ? "virtual" : "platform";
+			try (ConfigurableApplicationContext context = LoadTestApplications.start("load-test-" + threads,
+					"--spring.profiles.active=virtual-threads",
+					"--spring.threads.virtual.enabled=" + virtualThreads)) {
+
+				List<Long> accountIds =
+						LoadTestApplications.createAccounts(context, accountCount, INITIAL_BALANCE_IN_CENTS);
+				URI baseUri = LoadTestApplications.baseUri(context);
+				Map<String, Supplier<HttpRequest>> endpoints = Map.of(
+						"transfer", () -> transferRequest(baseUri, accountIds),
+						"history", () -> historyRequest(baseUri, accountIds));
+
+				for (int clients : clientCounts) {
+					for (String endpoint : List.of("transfer", "history")) {
+						HttpClient client = HttpClient.newBuilder()
+								.version(HttpClient.Version.HTTP_1_1)
+								.connectTimeout(Duration.ofSeconds(30))
+								.build();
+						ClosedLoopLoad.EndpointResult result = new ClosedLoopLoad(client, endpoint, endpoints.get(endpoint))
+								.run(clients, warmUp, duration)
+								.total();
+
+						System.out.printf("%-9s %-9s %8d %12.0f %10.2f %10.2f %10.2f %8d%n",
+								threads, endpoint, clients, result.throughput(), result.percentileInMillis(50),
+								result.percentileInMillis(99), result.percentileInMillis(99.9), result.errors());
+					}
+				}
+			}
+		}
+		System.exit(0);
+	}
+
+	private static HttpRequest transferRequest(URI baseUri, List<Long> accountIds) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int from = random.nextInt(accountIds.size());
+		int to = (from + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+
+		return HttpRequest.newBuilder(URI.create(baseUri + "/bankAccounts/" + accountIds.get(from) + "/transfers"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(String.format(
+						"{\"accountToId\": %d, \"transferAmountInCents\": 1}", accountIds.get(to))))
+				.build();
+	}
+
+	private static HttpRequest historyRequest(URI baseUri, List<Long> accountIds) {
+		Long accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+		return HttpRequest.newBuilder(URI.create(baseUri + "/bankAccounts/" + accountId + "/transfers?limit=20"))
+				.GET()
+				.build();
+	}
+}
@@ -20,11 +20,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * @author Marco Ruiz
  */
 @SpringBootApplication
+@EnableScheduling
 public class BankApp {
 
 	public static void main(String[] args) throws JsonProcessingException {
@@ -16,20 +16,31 @@
 
 package net.bopsys.banking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import net.bopsys.banking.model.dto.BankAccountCreateDto;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
 import net.bopsys.banking.model.dto.TransferOrderDto;
 import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
 import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.service.idempotency.IdempotentTransferService;
 import net.bopsys.banking.service.interfaces.BankingService;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -40,9 +51,15 @@ import java.util.List;
 public class BankingController {
 
 	private final BankingService bankAccountService;
+	private final IdempotentTransferService idempotentTransferService;
+	private final ObjectMapper objectMapper;
+
+	public BankingController(BankingService bankAccountService, IdempotentTransferService idempotentTransferService,
+			ObjectMapper objectMapper) {
 
-	public BankingController(BankingService bankAccountService) {
 		this.bankAccountService = bankAccountService;
+		this.idempotentTransferService = idempotentTransferService;
+		this.objectMapper = objectMapper;
 	}
 
 	@PostMapping("/")
@@ -51,8 +68,17 @@ public class BankingController {
 	}
 
 	@PostMapping("/{id}/transfers")
-	public void createTransferOrder(@PathVariable Long id, @RequestBody TransferOrderDto dto) {
-		bankAccountService.createTransferOrder(id, dto);
+	public void createTransferOrder(
+			@PathVariable Long id,
+			@RequestBody TransferOrderDto dto,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+
+		idempotentTransferService.createTransferOrder(id, dto, idempotencyKey);
+	}
+
+	@PostMapping("/transfers:batch")
+	public TransferOrderBatchResource createTransferOrders(@RequestBody List<TransferOrderBatchItemDto> dtos) {
+		return bankAccountService.createTransferOrders(dtos);
 	}
 
 	@GetMapping("/{id}")
@@ -71,4 +97,25 @@ public class BankingController {
 	public List<TransferOrderResource> getTransferHistory(@PathVariable Long id) {
 		return bankAccountService.getTransferHistory(id);
 	}
+
+	@GetMapping(value = "/{id}/transfers", params = "limit")
+	public TransferOrderPageResource getTransferHistoryPage(
+			@PathVariable Long id,
+			@RequestParam int limit,
+			@RequestParam(required = false) String after) {
+
+		return bankAccountService.getTransferHistoryPage(id, after, limit);
+	}
+
+	@GetMapping(value = "/{id}/transfers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public StreamingResponseBody streamTransferHistory(@PathVariable Long id) {
+		return outputStream -> bankAccountService.streamTransferHistory(id, transfer -> {
+			try {
+				outputStream.write(objectMapper.writeValueAsBytes(transfer));
+				outputStream.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
 }
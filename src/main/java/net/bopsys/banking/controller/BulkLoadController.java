@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.controller;
+
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.service.bulk.BankAccountBulkLoader;
+import net.bopsys.banking.service.bulk.BulkFormat;
+import net.bopsys.banking.service.bulk.TransferOrderBulkLoader;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk loads of bank accounts and historical transfers, for seeding and migrations. Bodies are read as they are
+ * received rather than buffered as a whole, in CSV ({@code text/csv}) or NDJSON ({@code application/x-ndjson}).
+ *
+ * @author Marco Ruiz
+ */
+@RestController
+@RequestMapping("/bulk")
+public class BulkLoadController {
+
+	private static final String CSV = "text/csv";
+
+	private final BankAccountBulkLoader bankAccountBulkLoader;
+	private final TransferOrderBulkLoader transferOrderBulkLoader;
+
+	public BulkLoadController(BankAccountBulkLoader bankAccountBulkLoader, TransferOrderBulkLoader transferOrderBulkLoader) {
+		this.bankAccountBulkLoader = bankAccountBulkLoader;
+		this.transferOrderBulkLoader = transferOrderBulkLoader;
+	}
+
+	@PostMapping(value = "/bankAccounts", consumes = {CSV, MediaType.APPLICATION_NDJSON_VALUE})
+	public ImportReportResource loadBankAccounts(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream content) throws IOException {
+
+		return bankAccountBulkLoader.load(BulkFormat.of(contentType), content);
+	}
+
+	@PostMapping(value = "/transfers", consumes = {CSV, MediaType.APPLICATION_NDJSON_VALUE})
+	public ImportReportResource loadTransferOrders(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream content) throws IOException {
+
+		return transferOrderBulkLoader.load(BulkFormat.of(contentType), content);
+	}
+}
@@ -18,6 +18,7 @@ package net.bopsys.banking.controller;
 
 import net.bopsys.banking.model.dto.CustomerDto;
 import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
 import net.bopsys.banking.service.interfaces.CustomerService;
 
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,6 +28,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -47,6 +50,12 @@ public class CustomerController {
 		return customerService.createCustomer(dto);
 	}
 
+	// Takes the raw request body so that it is parsed as it is received rather than buffered as a whole
+	@PostMapping("/import")
+	public ImportReportResource importCustomers(InputStream customersJson) throws IOException {
+		return customerService.importCustomers(customersJson, report -> {});
+	}
+
 	@GetMapping("/{id}")
 	public CustomerResource getCustomer(@PathVariable Long id) {
 		return customerService.getCustomer(id);
@@ -23,20 +23,28 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * @author Marco Ruiz
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class BankAccountNotFoundException extends RuntimeException {
+public class BankAccountNotFoundException extends BusinessRejectionException {
 
 	private static String buildAccountRoleDescription(String accountRole) {
 		return (accountRole == null || accountRole.isBlank()) ? "" : String.format("(%s account)", accountRole);
 	}
 
+	private final Long bankAccountId;
+	private final String accountRole;
+
 	public BankAccountNotFoundException(Long bankAccountId) {
 		this(bankAccountId, "");
 	}
 
 	public BankAccountNotFoundException(Long bankAccountId, String accountRole) {
-		super(String.format("Bank account with id '%s' not found. %s",
+		this.bankAccountId = bankAccountId;
+		this.accountRole = accountRole;
+	}
+
+	@Override
+	protected String formatMessage() {
+		return String.format("Bank account with id '%s' not found. %s",
 				bankAccountId,
-				buildAccountRoleDescription(accountRole))
-		);
+				buildAccountRoleDescription(accountRole));
 	}
 }
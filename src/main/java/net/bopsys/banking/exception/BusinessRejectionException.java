@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.exception;
+
+/**
+ * Base of the exceptions rejecting a request on business grounds (e.g. a transfer without enough balance to cover
+ * it), which are part of the normal flow of the application and can outnumber the requests served under abuse (e.g.
+ * card testing). They are cheap to create: no stack trace is captured, since it would only ever point at the rule
+ * broken, and the message is only formatted when first read.
+ * <p>
+ * Subclasses keep the arguments of their message and format it in {@link #formatMessage()}. The HTTP status of every
+ * rejection is still mapped by the {@code ResponseStatus} annotation of its class.
+ *
+ * @author Marco Ruiz
+ */
+public abstract class BusinessRejectionException extends RuntimeException {
+
+	// Racy but benign: every thread formats the same immutable message
+	private String message;
+
+	protected BusinessRejectionException() {
+		super(null, null, false, false);
+	}
+
+	@Override
+	public String getMessage() {
+		String formattedMessage = message;
+		if (formattedMessage == null) {
+			formattedMessage = formatMessage();
+			message = formattedMessage;
+		}
+		return formattedMessage;
+	}
+
+	protected abstract String formatMessage();
+}
@@ -23,11 +23,21 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * @author Marco Ruiz
  */
 @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
-public class InsufficientBalanceForTransferException extends RuntimeException {
+public class InsufficientBalanceForTransferException extends BusinessRejectionException {
+
+	private final Long accountId;
+	private final long balanceInCents;
+	private final long cents;
 
 	public InsufficientBalanceForTransferException(Long accountId, long balanceInCents, long cents) {
-		super(String.format("Account %s cannot be debited %d cents due to insufficient balance (balance: %d)",
-				accountId, cents, balanceInCents)
-		);
+		this.accountId = accountId;
+		this.balanceInCents = balanceInCents;
+		this.cents = cents;
+	}
+
+	@Override
+	protected String formatMessage() {
+		return String.format("Account %s cannot be debited %d cents due to insufficient balance (balance: %d)",
+				accountId, cents, balanceInCents);
 	}
 }
@@ -23,9 +23,16 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * @author Marco Ruiz
  */
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class SameBankAccountTransferNotAllowedException extends RuntimeException {
+public class SameBankAccountTransferNotAllowedException extends BusinessRejectionException {
+
+	private final Long accountId;
 
 	public SameBankAccountTransferNotAllowedException(Long accountId) {
-		super(String.format("Credit and debit accounts in a transfer must be different. Credit/debit account id: %d", accountId));
+		this.accountId = accountId;
+	}
+
+	@Override
+	protected String formatMessage() {
+		return String.format("Credit and debit accounts in a transfer must be different. Credit/debit account id: %d", accountId);
 	}
 }
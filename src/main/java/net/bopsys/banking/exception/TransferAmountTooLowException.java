@@ -23,9 +23,16 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * @author Marco Ruiz
  */
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class TransferAmountTooLowException extends RuntimeException {
+public class TransferAmountTooLowException extends BusinessRejectionException {
+
+	private final long transferAmount;
 
 	public TransferAmountTooLowException(long transferAmount) {
-		super(String.format("Transfer amounts must be greater than 0 (transfer amount provided: %d).", transferAmount));
+		this.transferAmount = transferAmount;
+	}
+
+	@Override
+	protected String formatMessage() {
+		return String.format("Transfer amounts must be greater than 0 (transfer amount provided: %d).", transferAmount);
 	}
 }
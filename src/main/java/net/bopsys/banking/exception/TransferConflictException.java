@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Collection;
+
+/**
+ * @author Marco Ruiz
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TransferConflictException extends RuntimeException {
+
+	public TransferConflictException(Collection<Long> accountIds, int attempts) {
+		super(String.format("Transfer involving accounts %s could not be applied due to concurrent updates (attempts: %d).",
+				accountIds, attempts)
+		);
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Marco Ruiz
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferOrderBatchItemDto {
+
+	@NotNull
+	private Long accountFromId;
+
+	@NotNull
+	private Long accountToId;
+
+	// In cent amounts. If value = 2000, then amount transferred = 20.00
+	private long transferAmountInCents;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.model.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Balance of a bank account as computed from its transfer history, including exactly the transfers created on or
+ * before {@link #asOf}. Live balances are computed from the latest checkpoint plus the transfers created after it.
+ *
+ * @author Marco Ruiz
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_balance_checkpoint_account_as_of", columnList = "accountId, asOf"))
+public class BalanceCheckpoint {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "accountId", referencedColumnName = "id", updatable = false)
+	private BankAccount account;
+
+	// In cent amounts. If value = 2000, then balance = 20.00
+	@Column(updatable = false)
+	private long balanceInCents;
+
+	@Column(updatable = false)
+	private Instant asOf;
+
+	public BalanceCheckpoint(BankAccount account, long balanceInCents, Instant asOf) {
+		this.account = account;
+		this.balanceInCents = balanceInCents;
+		this.asOf = asOf;
+	}
+}
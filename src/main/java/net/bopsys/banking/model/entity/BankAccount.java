@@ -27,6 +27,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -58,6 +59,13 @@ public class BankAccount {
 	@Column(updatable = false)
 	private Instant createdOn;
 
+	// 'asOf' of the latest balance checkpoint taken. Transfers must be dated after it to be counted in live balances
+	private Instant checkpointedOn;
+
+	// Bumped on every balance update, so that writes based on a stale balance are rejected instead of overwriting it
+	@Version
+	private long version;
+
 	// NOT IDEAL: ADDED FOR QUICK TESTING PURPOSES
 	public BankAccount(long id, Customer customer, long initialBalanceInCents) {
 		this(customer, initialBalanceInCents);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.model.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cache invalidation broadcast through the database to all the application nodes. Rows are only kept for a while,
+ * long enough for every running node to have polled them.
+ *
+ * @author Marco Ruiz
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_cache_invalidation_message_published_on", columnList = "publishedOn"))
+public class CacheInvalidationMessage {
+
+	// Enough for MAX_IDS identifiers of up to 19 digits, comma separated
+	public static final int MAX_IDS = 1000;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(updatable = false, length = 16)
+	private String type;
+
+	// Comma separated identifiers of the entities changed
+	@Column(updatable = false, length = MAX_IDS * 20)
+	private String entityIds;
+
+	@Column(updatable = false, length = 36)
+	private String originNodeId;
+
+	@Column(updatable = false)
+	private Instant publishedOn;
+
+	public CacheInvalidationMessage(String type, String entityIds, String originNodeId, Instant publishedOn) {
+		this.type = type;
+		this.entityIds = entityIds;
+		this.originNodeId = originNodeId;
+		this.publishedOn = publishedOn;
+	}
+}
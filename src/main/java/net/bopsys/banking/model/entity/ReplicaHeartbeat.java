@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.model.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single row the application nodes keep stamping on the primary database. How old the copy of the row read from a
+ * replica is bounds how far behind the primary the replica lags.
+ *
+ * @author Marco Ruiz
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+public class ReplicaHeartbeat {
+
+	public static final int ID = 1;
+
+	@Id
+	private Integer id;
+
+	private Instant beatOn;
+}
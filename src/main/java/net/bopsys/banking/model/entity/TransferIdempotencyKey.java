@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.model.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Idempotency key a transfer order was created with, along with the request it was created for, so that a repeated
+ * request is answered with the transfer order it already created instead of creating another one. Inserted in the
+ * transaction of the transfer order, so both are committed or neither is, and always inserted (never merged), so a
+ * key already taken by another node fails with a duplicate key. Engines which cannot roll a transfer back claim the
+ * key before the transfer instead, with no transfer order until the transfer is acknowledged. Rows are only kept for a
+ * while.
+ *
+ * @author Marco Ruiz
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_transfer_idempotency_key_created_on", columnList = "createdOn"))
+public class TransferIdempotencyKey implements Persistable<String> {
+
+	public static final int MAX_KEY_LENGTH = 255;
+
+	@Id
+	@Column(name = "idempotencyKey", length = MAX_KEY_LENGTH)
+	private String key;
+
+	@Column(updatable = false)
+	private Long accountFromId;
+
+	@Column(updatable = false)
+	private Long accountToId;
+
+	@Column(updatable = false)
+	private long amountInCents;
+
+	private UUID transferOrderId;
+
+	@Column(updatable = false)
+	private Instant createdOn;
+
+	@Transient
+	private boolean isNew = true;
+
+	public TransferIdempotencyKey(String key, Long accountFromId, Long accountToId, long amountInCents,
+			UUID transferOrderId) {
+
+		this.key = key;
+		this.accountFromId = accountFromId;
+		this.accountToId = accountToId;
+		this.amountInCents = amountInCents;
+		this.transferOrderId = transferOrderId;
+		this.createdOn = Instant.now();
+	}
+
+	@Override
+	public String getId() {
+		return key;
+	}
+
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+}
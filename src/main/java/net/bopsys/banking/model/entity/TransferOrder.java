@@ -16,16 +16,23 @@
 
 package net.bopsys.banking.model.entity;
 
+import net.bopsys.banking.model.resource.TransferOrderResource;
+
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.SqlResultSetMapping;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -37,10 +44,69 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+		// Serve the lookups of the debits and the credits of an account already ordered as its history is (the trailing
+		// id keeps keyset pagination within the index when creation times tie)
+		@Index(name = "idx_transfer_order_account_from_created_on", columnList = "accountFromId, createdOn, id"),
+		@Index(name = "idx_transfer_order_account_to_created_on", columnList = "accountToId, createdOn, id")
+})
+// Transfer histories are read as resources straight from the columns of the transfer order rows, without loading any
+// entity: the accounts they reference (and their customers) would otherwise be fetched eagerly for every row
+@SqlResultSetMapping(name = TransferOrder.RESOURCE_MAPPING, classes = @ConstructorResult(
+		targetClass = TransferOrderResource.class,
+		columns = {
+				@ColumnResult(name = "id", type = UUID.class),
+				@ColumnResult(name = "account_from_id", type = Long.class),
+				@ColumnResult(name = "account_to_id", type = Long.class),
+				@ColumnResult(name = "amount_transferred_in_cents", type = Long.class),
+				@ColumnResult(name = "created_on", type = Instant.class)
+		}))
+@NamedNativeQuery(name = "TransferOrder.findTransferHistory", resultSetMapping = TransferOrder.RESOURCE_MAPPING, query = """
+		select t.id, t.account_from_id, t.account_to_id, t.amount_transferred_in_cents, t.created_on from (
+			select * from transfer_order where account_from_id = :accountId
+			union all
+			select * from transfer_order where account_to_id = :accountId
+		) t
+		order by t.created_on, t.id
+		""")
+@NamedNativeQuery(name = "TransferOrder.streamBankAccountTransfers", resultSetMapping = TransferOrder.RESOURCE_MAPPING, query = """
+		select t.id, t.account_from_id, t.account_to_id, t.amount_transferred_in_cents, t.created_on from (
+			select * from transfer_order where account_from_id = :accountId
+			union all
+			select * from transfer_order where account_to_id = :accountId
+		) t
+		order by t.created_on, t.id
+		""")
+@NamedNativeQuery(name = "TransferOrder.findTransferHistoryPage", resultSetMapping = TransferOrder.RESOURCE_MAPPING, query = """
+		select t.id, t.account_from_id, t.account_to_id, t.amount_transferred_in_cents, t.created_on from (
+			(select * from transfer_order where account_from_id = :accountId
+				order by created_on, id limit :limit)
+			union all
+			(select * from transfer_order where account_to_id = :accountId
+				order by created_on, id limit :limit)
+		) t
+		order by t.created_on, t.id
+		limit :limit
+		""")
+@NamedNativeQuery(name = "TransferOrder.findTransferHistoryPageAfter", resultSetMapping = TransferOrder.RESOURCE_MAPPING, query = """
+		select t.id, t.account_from_id, t.account_to_id, t.amount_transferred_in_cents, t.created_on from (
+			(select * from transfer_order where account_from_id = :accountId
+				and (created_on > :createdOn or (created_on = :createdOn and id > :id))
+				order by created_on, id limit :limit)
+			union all
+			(select * from transfer_order where account_to_id = :accountId
+				and (created_on > :createdOn or (created_on = :createdOn and id > :id))
+				order by created_on, id limit :limit)
+		) t
+		order by t.created_on, t.id
+		limit :limit
+		""")
 public class TransferOrder {
 
+	public static final String RESOURCE_MAPPING = "TransferOrderResource";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.UUID)
+	@TimeOrderedUuid
 	private UUID id;
 
 	@ManyToOne
@@ -62,6 +128,27 @@ public class TransferOrder {
 		this.accountFrom = accountFrom;
 		this.accountTo = accountTo;
 		this.amountTransferredInCents = amountTransferredInCents;
-		this.createdOn = Instant.now();
+		this.createdOn = creationTimestamp(Instant.now(), accountFrom.getCheckpointedOn(), accountTo.getCheckpointedOn());
+	}
+
+	/**
+	 * Creation timestamp of a transfer requested at a given time.
+	 * <p>
+	 * A transfer dated on or before the latest balance checkpoint of one of its accounts (e.g. due to clock skew between
+	 * application nodes) would be left out of that account's live balance, so it gets dated right after it instead.
+	 * Timestamps are kept at the microsecond precision the database stores, so that comparisons against checkpoints
+	 * give the same result in both places.
+	 *
+	 * @param requestedOn Time at which the transfer was requested
+	 * @param checkpointedOns {@link BankAccount#getCheckpointedOn() Latest checkpoint times} of the accounts involved
+	 * @return Creation timestamp of the transfer
+	 */
+	public static Instant creationTimestamp(Instant requestedOn, Instant... checkpointedOns) {
+		Instant timestamp = requestedOn.truncatedTo(ChronoUnit.MICROS);
+		for (Instant checkpointedOn : checkpointedOns) {
+			if (checkpointedOn != null && !timestamp.isAfter(checkpointedOn))
+				timestamp = checkpointedOn.plus(1, ChronoUnit.MICROS);
+		}
+		return timestamp;
 	}
 }
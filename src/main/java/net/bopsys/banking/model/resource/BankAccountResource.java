@@ -16,6 +16,8 @@
 
 package net.bopsys.banking.model.resource;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.Instant;
 
 import lombok.AllArgsConstructor;
@@ -40,6 +42,10 @@ public class BankAccountResource {
 
 	private Instant createdOn;
 
+	// Owner of the account, kept for the invalidation of cached resources on customer changes
+	@JsonIgnore
+	private Long customerId;
+
 	public double getBalance() {
 		return (double) balanceInCents / 100;
 	}
@@ -18,10 +18,21 @@ package net.bopsys.banking.repository;
 
 import net.bopsys.banking.exception.BankAccountNotFoundException;
 import net.bopsys.banking.model.entity.BankAccount;
+import net.bopsys.banking.model.resource.BankAccountResource;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+
 /**
  * @author Marco Ruiz
  */
@@ -36,4 +47,52 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
 		return findById(accountId)
 				.orElseThrow(() -> new BankAccountNotFoundException(accountId, accountRole));
 	}
+
+	default BankAccountResource findBankAccountResource(Long accountId) {
+		return findResourceById(accountId)
+				.orElseThrow(() -> new BankAccountNotFoundException(accountId));
+	}
+
+	/**
+	 * Write-locks the rows of the bank accounts of interest until the end of the current transaction. Rows are locked
+	 * one at a time in ascending id order, so that two transactions locking overlapping sets of accounts cannot
+	 * deadlock. Identifiers of non-existent bank accounts are ignored.
+	 *
+	 * @param accountIds Identifiers of the bank accounts to lock
+	 * @return Locked {@link BankAccount} entities, in ascending id order
+	 */
+	default List<BankAccount> lockBankAccounts(Collection<Long> accountIds) {
+		return accountIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted()
+				.map(this::findByIdForUpdate)
+				.flatMap(Optional::stream)
+				.toList();
+	}
+
+	/**
+	 * Retrieves a bank account, write-locking its row ({@code SELECT ... FOR UPDATE}) until the end of the current
+	 * transaction.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @return Locked {@link BankAccount} of interest, if it exists
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select a from BankAccount a where a.id = :accountId")
+	Optional<BankAccount> findByIdForUpdate(@Param("accountId") Long accountId);
+
+	/**
+	 * Retrieves the resource of a bank account, along with the name of its customer, in one single statement and
+	 * without loading any entity
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @return {@link BankAccountResource} of interest, if it exists
+	 */
+	@Query("""
+			select new net.bopsys.banking.model.resource.BankAccountResource(a.id, c.name, a.balanceInCents, a.createdOn, c.id)
+			from BankAccount a join a.customer c
+			where a.id = :accountId
+			""")
+	Optional<BankAccountResource> findResourceById(@Param("accountId") Long accountId);
 }
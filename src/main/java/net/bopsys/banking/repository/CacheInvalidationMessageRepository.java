@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.repository;
+
+import net.bopsys.banking.model.entity.CacheInvalidationMessage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Marco Ruiz
+ */
+@Repository
+public interface CacheInvalidationMessageRepository extends JpaRepository<CacheInvalidationMessage, Long> {
+
+	Optional<CacheInvalidationMessage> findFirstByOrderByIdDesc();
+
+	List<CacheInvalidationMessage> findFirst1000ByIdGreaterThanOrderById(Long id);
+
+	@Transactional
+	@Modifying
+	@Query("delete from CacheInvalidationMessage m where m.publishedOn < :before")
+	int deletePublishedBefore(@Param("before") Instant before);
+}
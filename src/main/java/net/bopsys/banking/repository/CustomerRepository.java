@@ -20,8 +20,13 @@ import net.bopsys.banking.exception.CustomerNotFoundException;
 import net.bopsys.banking.model.entity.Customer;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * @author Marco Ruiz
  */
@@ -32,4 +37,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 		return findById(customerId)
 				.orElseThrow(() -> new CustomerNotFoundException(customerId));
 	}
+
+	@Query("select c.id from Customer c where c.id in :customerIds")
+	List<Long> findExistingIds(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -17,29 +17,104 @@
 package net.bopsys.banking.repository;
 
 import net.bopsys.banking.model.entity.TransferOrder;
+import net.bopsys.banking.model.resource.TransferOrderResource;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * @author Marco Ruiz
  */
 public interface TransferOrderRepository extends JpaRepository<TransferOrder, UUID> {
 
-	default List<TransferOrder> findBankAccountTransfers(Long accountId) {
-		return findByAccountFromIdOrAccountToIdOrderByCreatedOn(accountId, accountId);
-	}
+	/**
+	 * Retrieves all the transfers in which the bank account of interest is involved, ordered by creation time and id.
+	 * <p>
+	 * Rather than filtering with an {@code OR} across both account columns, which defeats their indexes and ends up
+	 * scanning the whole table, the debits and the credits of the account are retrieved through two index range scans
+	 * whose results are merged. Rows are mapped straight into resources (see the named native queries declared by
+	 * {@link TransferOrder}), so neither transfer orders nor the accounts they reference are loaded.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @return {@link TransferOrderResource}s of all the transfers in which the bank account of interest is involved
+	 */
+	List<TransferOrderResource> findTransferHistory(@Param("accountId") Long accountId);
 
 	/**
-	 * Retrieves the entities corresponding to all the amount transfers in which the bank account of interest is involved.
+	 * Retrieves the first page of the transfers in which the bank account of interest is involved, ordered by creation
+	 * time and id. Each index range scan stops after one page of rows, and only those are merged.
 	 *
-	 * @param accountFromId Identifier of the bank account of interest
-	 * @param accountToId Identifier of the bank account of interest
-	 * @return Entities corresponding to all the amount transfers in which the bank account of interest is involved.
+	 * @param accountId Identifier of the bank account of interest
+	 * @param limit Size of the page
+	 * @return {@link TransferOrderResource}s of the first page of transfers
+	 */
+	List<TransferOrderResource> findTransferHistoryPage(@Param("accountId") Long accountId, @Param("limit") int limit);
+
+	/**
+	 * Retrieves the page of the transfers in which the bank account of interest is involved that follows a position,
+	 * given by a creation time and an id, in the history ordered by creation time and id (keyset pagination). Each
+	 * index range scan starts at the given position and stops after one page of rows, and only those are merged.
 	 *
-	 * @see <a href="https://docs.spring.io/spring-data/jpa/reference/jpa/query-methods.html"></a>
+	 * @param accountId Identifier of the bank account of interest
+	 * @param createdOn Creation time of the last transfer of the previous page
+	 * @param id Identifier of the last transfer of the previous page
+	 * @param limit Size of the page
+	 * @return {@link TransferOrderResource}s of the page of transfers following the given position
 	 */
-	List<TransferOrder> findByAccountFromIdOrAccountToIdOrderByCreatedOn(Long accountFromId, Long accountToId);
+	List<TransferOrderResource> findTransferHistoryPageAfter(
+			@Param("accountId") Long accountId,
+			@Param("createdOn") Instant createdOn,
+			@Param("id") UUID id,
+			@Param("limit") int limit);
+
+	/**
+	 * Streams the transfers in which the bank account of interest is involved, ordered by creation time and id, as
+	 * the database cursor yields them. As for {@link #findTransferHistory(Long)}, debits and credits are retrieved
+	 * through two index range scans and mapped straight into resources, so nothing accumulates in the persistence
+	 * context. Must be consumed, and closed, within a transaction.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @return Stream of {@link TransferOrderResource} associated with the account of interest
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	Stream<TransferOrderResource> streamBankAccountTransfers(@Param("accountId") Long accountId);
+
+	/**
+	 * Aggregates, in the database and in one round trip, the net amount transferred to a bank account (credits minus
+	 * debits) by the transfers created in a time window. Credits and debits are summed apart, each through an index
+	 * range scan over the creation times of the account's transfers. No entity is loaded in the process.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @param after Exclusive lower bound of the creation time of the transfers to aggregate
+	 * @param until Inclusive upper bound of the creation time of the transfers to aggregate, or null for no bound
+	 * @return Net amount transferred, in cents
+	 */
+	@Query("""
+			select
+				coalesce((select sum(c.amountTransferredInCents) from TransferOrder c
+					where c.accountTo.id = :accountId
+						and c.createdOn > :after and (:until is null or c.createdOn <= :until)), 0)
+				- coalesce((select sum(d.amountTransferredInCents) from TransferOrder d
+					where d.accountFrom.id = :accountId
+						and d.createdOn > :after and (:until is null or d.createdOn <= :until)), 0)
+			from BankAccount a
+			where a.id = :accountId
+			""")
+	long sumNetTransferredInCents(@Param("accountId") Long accountId, @Param("after") Instant after, @Param("until") Instant until);
+
+	@Query("select distinct t.accountFrom.id from TransferOrder t where t.createdOn > :after")
+	List<Long> findDebitedAccountIdsSince(@Param("after") Instant after);
+
+	@Query("select distinct t.accountTo.id from TransferOrder t where t.createdOn > :after")
+	List<Long> findCreditedAccountIdsSince(@Param("after") Instant after);
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service;
+
+import net.bopsys.banking.model.entity.BalanceCheckpoint;
+import net.bopsys.banking.model.entity.BankAccount;
+import net.bopsys.banking.repository.BalanceCheckpointRepository;
+import net.bopsys.banking.repository.BankAccountRepository;
+import net.bopsys.banking.repository.TransferOrderRepository;
+import net.bopsys.banking.service.transfer.TransferExecutor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Periodically records {@link BalanceCheckpoint}s of the accounts with recent transfers, so that computing their live
+ * balance only needs to aggregate the transfers created after the latest checkpoint instead of their whole history.
+ *
+ * @author Marco Ruiz
+ */
+@Service
+@ConditionalOnProperty(name = "banking.balance-checkpoint.enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceCheckpointService {
+
+	private final BankAccountRepository bankAccountRepository;
+	private final TransferOrderRepository transferOrderRepository;
+	private final BalanceCheckpointRepository balanceCheckpointRepository;
+	private final TransferExecutor transferExecutor;
+
+	private Instant lastSweepStartedOn = Instant.EPOCH;
+
+	public BalanceCheckpointService(
+			BankAccountRepository bankAccountRepository,
+			TransferOrderRepository transferOrderRepository,
+			BalanceCheckpointRepository balanceCheckpointRepository,
+			TransferExecutor transferExecutor) {
+
+		this.bankAccountRepository = bankAccountRepository;
+		this.transferOrderRepository = transferOrderRepository;
+		this.balanceCheckpointRepository = balanceCheckpointRepository;
+		this.transferExecutor = transferExecutor;
+	}
+
+	/**
+	 * Checkpoints every account involved in a transfer since the previous sweep
+	 */
+	@Scheduled(
+			initialDelayString = "${banking.balance-checkpoint.interval:PT1H}",
+			fixedDelayString = "${banking.balance-checkpoint.interval:PT1H}")
+	public void checkpointActiveAccounts() {
+		Instant sweepStartedOn = Instant.now();
+
+		Set<Long> accountIds = new TreeSet<>(transferOrderRepository.findDebitedAccountIdsSince(lastSweepStartedOn));
+		accountIds.addAll(transferOrderRepository.findCreditedAccountIdsSince(lastSweepStartedOn));
+		accountIds.forEach(this::checkpoint);
+
+		lastSweepStartedOn = sweepStartedOn;
+	}
+
+	/**
+	 * Records a new checkpoint of the balance of an account, computed from its previous checkpoint (or its initial
+	 * balance) and the transfers created since.
+	 * <p>
+	 * Runs through the {@link TransferExecutor}, like any transfer, so no transfer on the account can commit while the
+	 * checkpoint is taken. Stamping the account with the checkpoint time bumps its version, which makes optimistic
+	 * transfers still in flight retry, and forces later transfers to be dated after the checkpoint.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @return {@link BalanceCheckpoint} persisted
+	 */
+	public BalanceCheckpoint checkpoint(Long accountId) {
+		return transferExecutor.execute(List.of(accountId), () -> {
+			BankAccount account = bankAccountRepository.findBankAccount(accountId);
+			Optional<BalanceCheckpoint> previous = balanceCheckpointRepository.findLatestBalanceCheckpoint(accountId);
+
+			Instant after = previous.map(BalanceCheckpoint::getAsOf).orElse(Instant.EPOCH);
+			Instant asOf = Instant.now().truncatedTo(ChronoUnit.MICROS);
+			if (!asOf.isAfter(after))
+				asOf = after.plus(1, ChronoUnit.MICROS);
+
+			long balanceInCents = previous.map(BalanceCheckpoint::getBalanceInCents).orElse(account.getInitialBalanceInCents())
+					+ transferOrderRepository.sumNetTransferredInCents(accountId, after, asOf);
+
+			account.setCheckpointedOn(asOf);
+			bankAccountRepository.save(account);
+			return balanceCheckpointRepository.save(new BalanceCheckpoint(account, balanceInCents, asOf));
+		});
+	}
+}
@@ -17,24 +17,54 @@
 package net.bopsys.banking.service;
 
 import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.InvalidTransferBatchException;
+import net.bopsys.banking.exception.InvalidTransferHistoryPageException;
 import net.bopsys.banking.exception.RequestOpeningBankAccountWithNegativeBalanceException;
 import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
 import net.bopsys.banking.exception.TransferAmountTooLowException;
+import net.bopsys.banking.exception.TransferConflictException;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
 import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.BalanceCheckpoint;
 import net.bopsys.banking.model.entity.BankAccount;
 import net.bopsys.banking.model.entity.Customer;
 import net.bopsys.banking.model.entity.TransferOrder;
 import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchItemResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
 import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.repository.BalanceCheckpointRepository;
 import net.bopsys.banking.repository.BankAccountRepository;
 import net.bopsys.banking.repository.CustomerRepository;
 import net.bopsys.banking.repository.TransferOrderRepository;
+import net.bopsys.banking.service.cache.BankAccountResourceCache;
 import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.jfr.BalanceComputationEvent;
+import net.bopsys.banking.service.jfr.TransferEvent;
+import net.bopsys.banking.service.jfr.TransferHistoryEvent;
+import net.bopsys.banking.service.replica.ReplicaReads;
+import net.bopsys.banking.service.transfer.TransferExecutor;
+import net.bopsys.banking.service.transfer.TransferMetrics;
+import net.bopsys.banking.service.transfer.TransferMetrics.Phase;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Marco Ruiz
@@ -42,18 +72,35 @@ import java.util.List;
 @Service
 public class BankingServiceImpl implements BankingService {
 
+	private static final int MAX_TRANSFER_HISTORY_PAGE_SIZE = 1000;
+
 	private final BankAccountRepository bankAccountRepository;
 	private final CustomerRepository customerRepository;
 	private final TransferOrderRepository transferOrderRepository;
+	private final BalanceCheckpointRepository balanceCheckpointRepository;
+	private final TransferExecutor transferExecutor;
+	private final BankAccountResourceCache bankAccountResourceCache;
+	private final TransferMetrics transferMetrics;
+	private final ReplicaReads replicaReads;
 
 	public BankingServiceImpl(
 			BankAccountRepository bankAccountRepository,
 			CustomerRepository bankCustomerRepository,
-			TransferOrderRepository bankAccountAmountTransferRepository) {
+			TransferOrderRepository bankAccountAmountTransferRepository,
+			BalanceCheckpointRepository balanceCheckpointRepository,
+			TransferExecutor transferExecutor,
+			BankAccountResourceCache bankAccountResourceCache,
+			TransferMetrics transferMetrics,
+			ReplicaReads replicaReads) {
 
 		this.bankAccountRepository = bankAccountRepository;
 		this.customerRepository = bankCustomerRepository;
 		this.transferOrderRepository = bankAccountAmountTransferRepository;
+		this.balanceCheckpointRepository = balanceCheckpointRepository;
+		this.transferExecutor = transferExecutor;
+		this.bankAccountResourceCache = bankAccountResourceCache;
+		this.transferMetrics = transferMetrics;
+		this.replicaReads = replicaReads;
 	}
 
 	@Override
@@ -63,54 +110,226 @@ public class BankingServiceImpl implements BankingService {
 
 		Customer customer = customerRepository.findCustomer(customerId);
 		BankAccount persistedBankAccount = bankAccountRepository.saveAndFlush(new BankAccount(customer, initialBalanceInCents));
-		return buildBankAccountResource(persistedBankAccount);
+		BankAccountResource resource = buildBankAccountResource(persistedBankAccount);
+		bankAccountResourceCache.put(resource);
+		return resource;
 	}
 
 	@Override
 	public TransferOrder createTransferOrder(Long accountFromId, TransferOrderDto dto) {
-		if (accountFromId.equals(dto.getAccountToId()))
-			throw new SameBankAccountTransferNotAllowedException(accountFromId);
-
-		return createTransferOrder(
-				bankAccountRepository.findBankAccount(accountFromId, ACCOUNT_ROLE_DEBIT),
-				bankAccountRepository.findBankAccount(dto.getAccountToId(), ACCOUNT_ROLE_CREDIT),
-				dto.getTransferAmountInCents()
-		);
+		return createTransferOrder(accountFromId, dto, transfer -> {});
+	}
+
+	@Override
+	public TransferOrder createTransferOrder(Long accountFromId, TransferOrderDto dto, Consumer<TransferOrder> alongWith) {
+		TransferEvent event = new TransferEvent();
+		event.begin();
+		try {
+			if (accountFromId.equals(dto.getAccountToId()))
+				throw new SameBankAccountTransferNotAllowedException(accountFromId);
+
+			List<Long> accountIds = Arrays.asList(accountFromId, dto.getAccountToId());
+			TransferMetrics.Stopwatch stopwatch = transferMetrics.start();
+			TransferOrder transfer = transferExecutor.execute(accountIds, () -> {
+				stopwatch.lap(Phase.LOCK);
+				BankAccount accountFrom = bankAccountRepository.findBankAccount(accountFromId, ACCOUNT_ROLE_DEBIT);
+				BankAccount accountTo = bankAccountRepository.findBankAccount(dto.getAccountToId(), ACCOUNT_ROLE_CREDIT);
+				stopwatch.lap(Phase.LOOKUP);
+				return createTransferOrder(accountFrom, accountTo, dto.getTransferAmountInCents(), alongWith, stopwatch);
+			});
+			stopwatch.lap(Phase.COMMIT);
+			bankAccountResourceCache.invalidate(accountIds);
+			event.finish(accountFromId, dto.getAccountToId(), dto.getTransferAmountInCents(), transfer, null);
+			return transfer;
+		} catch (SameBankAccountTransferNotAllowedException | TransferAmountTooLowException |
+				 BankAccountNotFoundException | InsufficientBalanceForTransferException | TransferConflictException e) {
+			transferMetrics.rejected(e);
+			event.finish(accountFromId, dto.getAccountToId(), dto.getTransferAmountInCents(), null, e);
+			throw e;
+		}
+	}
+
+	private TransferOrder createTransferOrder(BankAccount accountFrom, BankAccount accountTo, long transferAmountInCents,
+			Consumer<TransferOrder> alongWith, TransferMetrics.Stopwatch stopwatch) {
+
+		TransferOrder transfer = applyTransfer(accountFrom, accountTo, transferAmountInCents);
+		stopwatch.lap(Phase.MUTATION);
+		bankAccountRepository.save(accountFrom);
+		bankAccountRepository.save(accountTo);
+		TransferOrder persistedTransfer = transferOrderRepository.save(transfer);
+		alongWith.accept(persistedTransfer);
+		return persistedTransfer;
 	}
 
-	@Transactional
-	private TransferOrder createTransferOrder(BankAccount accountFrom, BankAccount accountTo, long transferAmountInCents) {
+	private TransferOrder applyTransfer(BankAccount accountFrom, BankAccount accountTo, long transferAmountInCents) {
+		if (Objects.equals(accountFrom.getId(), accountTo.getId()))
+			throw new SameBankAccountTransferNotAllowedException(accountFrom.getId());
+
 		if (transferAmountInCents <= 0)
 			throw new TransferAmountTooLowException(transferAmountInCents);
 
 		accountFrom.addCentsToBalance(transferAmountInCents * -1);
-		bankAccountRepository.save(accountFrom);
-
 		accountTo.addCentsToBalance(transferAmountInCents);
-		bankAccountRepository.save(accountTo);
+		return new TransferOrder(accountFrom, accountTo, transferAmountInCents);
+	}
+
+	@Override
+	public TransferOrderBatchResource createTransferOrders(List<TransferOrderBatchItemDto> dtos) {
+		if (dtos.size() > MAX_TRANSFER_BATCH_SIZE)
+			throw new InvalidTransferBatchException(String.format(
+					"batches must have at most %d items (items provided: %d)", MAX_TRANSFER_BATCH_SIZE, dtos.size()));
+
+		Set<Long> accountIds = new LinkedHashSet<>();
+		for (TransferOrderBatchItemDto dto : dtos) {
+			accountIds.add(dto.getAccountFromId());
+			accountIds.add(dto.getAccountToId());
+		}
+		accountIds.remove(null);
 
-		TransferOrder transfer = new TransferOrder(accountFrom, accountTo, transferAmountInCents);
-		return transferOrderRepository.save(transfer);
+		try {
+			TransferOrderBatchResource batch = transferExecutor.execute(accountIds, () -> createTransferOrders(dtos, accountIds));
+			bankAccountResourceCache.invalidate(accountIds);
+			return batch;
+		} catch (TransferConflictException e) {
+			transferMetrics.rejected(e);
+			throw e;
+		}
+	}
+
+	private TransferOrderBatchResource createTransferOrders(List<TransferOrderBatchItemDto> dtos, Set<Long> accountIds) {
+		Map<Long, BankAccount> accounts = bankAccountRepository.findAllById(accountIds).stream()
+				.collect(Collectors.toMap(BankAccount::getId, Function.identity()));
+
+		// Balances are mutated in memory item after item, so every item is validated against the balances left by the
+		// previous ones. Each touched account is nevertheless written only once, with its net balance, at flush time
+		TransferOrder[] transfersByIndex = new TransferOrder[dtos.size()];
+		String[] errorsByIndex = new String[dtos.size()];
+		List<TransferOrder> transfers = new ArrayList<>(dtos.size());
+
+		for (int index = 0; index < dtos.size(); index++) {
+			TransferOrderBatchItemDto dto = dtos.get(index);
+			try {
+				transfersByIndex[index] = applyTransfer(
+						findBatchAccount(accounts, dto.getAccountFromId(), ACCOUNT_ROLE_DEBIT),
+						findBatchAccount(accounts, dto.getAccountToId(), ACCOUNT_ROLE_CREDIT),
+						dto.getTransferAmountInCents()
+				);
+				transfers.add(transfersByIndex[index]);
+			} catch (SameBankAccountTransferNotAllowedException | TransferAmountTooLowException |
+					 BankAccountNotFoundException | InsufficientBalanceForTransferException e) {
+				transferMetrics.rejected(e);
+				errorsByIndex[index] = e.getMessage();
+			}
+		}
+
+		// Transfer order inserts are grouped in JDBC batches of 'hibernate.jdbc.batch_size' at flush time
+		bankAccountRepository.saveAll(accounts.values());
+		transferOrderRepository.saveAll(transfers);
+
+		List<TransferOrderBatchItemResource> items = new ArrayList<>(dtos.size());
+		for (int index = 0; index < dtos.size(); index++) {
+			TransferOrder transfer = transfersByIndex[index];
+			items.add(TransferOrderBatchItemResource.builder()
+					.index(index)
+					.succeeded(transfer != null)
+					.transferOrderId(transfer != null ? transfer.getId() : null)
+					.error(errorsByIndex[index])
+					.build());
+		}
+
+		return TransferOrderBatchResource.builder()
+				.succeeded(transfers.size())
+				.failed(dtos.size() - transfers.size())
+				.items(items)
+				.build();
+	}
+
+	private BankAccount findBatchAccount(Map<Long, BankAccount> accounts, Long accountId, String accountRole) {
+		BankAccount account = accounts.get(accountId);
+		if (account == null)
+			throw new BankAccountNotFoundException(accountId, accountRole);
+		return account;
 	}
 
 	@Override
 	public BankAccountResource getBankAccount(Long accountId) throws BankAccountNotFoundException {
-		return buildBankAccountResource(bankAccountRepository.findBankAccount(accountId));
+		// Loaded from the primary: a stale replica read would outlive the invalidation of the entry in the cache
+		return bankAccountResourceCache.get(accountId, bankAccountRepository::findBankAccountResource);
 	}
 
 	@Override
 	public long computeBalanceInCents(Long accountId) {
-		long aggregatedTransferAmount = getTransferHistory(accountId).stream()
-				.mapToLong(t -> t.getTransferAmountInCents(accountId))
-				.sum();
-		return bankAccountRepository.findBankAccount(accountId).getInitialBalanceInCents() + aggregatedTransferAmount;
+		BalanceComputationEvent event = new BalanceComputationEvent();
+		event.begin();
+		Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository.findLatestBalanceCheckpoint(accountId);
+		long baseBalanceInCents = checkpoint.isPresent() ?
+				checkpoint.get().getBalanceInCents() :
+				bankAccountRepository.findBankAccount(accountId).getInitialBalanceInCents();
+		Instant after = checkpoint.map(BalanceCheckpoint::getAsOf).orElse(Instant.EPOCH);
+
+		long balanceInCents = baseBalanceInCents + transferOrderRepository.sumNetTransferredInCents(accountId, after, null);
+		event.finish(accountId, checkpoint.isPresent(), balanceInCents);
+		return balanceInCents;
 	}
 
 	@Override
 	public List<TransferOrderResource> getTransferHistory(Long accountId) {
-		return transferOrderRepository.findBankAccountTransfers(accountId).stream()
-				.map(this::transferOrderResource)
-				.toList();
+		TransferHistoryEvent event = new TransferHistoryEvent();
+		event.begin();
+		List<TransferOrderResource> transfers = replicaReads.read(() -> transferOrderRepository.findTransferHistory(accountId));
+		event.finish(accountId, TransferHistoryEvent.MODE_LIST, 0, transfers.size());
+		return transfers;
+	}
+
+	@Override
+	public TransferOrderPageResource getTransferHistoryPage(Long accountId, String afterCursor, int limit) {
+		if (limit <= 0)
+			throw new InvalidTransferHistoryPageException(String.format("limit must be greater than 0 (limit provided: %d)", limit));
+
+		// One extra record is fetched to find out whether there is a next page
+		int pageSize = Math.min(limit, MAX_TRANSFER_HISTORY_PAGE_SIZE);
+		TransferHistoryEvent event = new TransferHistoryEvent();
+		event.begin();
+
+		List<TransferOrderResource> transfers;
+		if (afterCursor == null || afterCursor.isBlank()) {
+			transfers = replicaReads.read(() -> transferOrderRepository.findTransferHistoryPage(accountId, pageSize + 1));
+		} else {
+			TransferHistoryCursor cursor = TransferHistoryCursor.decode(afterCursor);
+			transfers = replicaReads.read(() -> transferOrderRepository.findTransferHistoryPageAfter(
+					accountId, cursor.createdOn(), cursor.id(), pageSize + 1));
+		}
+
+		List<TransferOrderResource> items = transfers.subList(0, Math.min(pageSize, transfers.size()));
+
+		TransferOrderResource last = items.isEmpty() ? null : items.get(items.size() - 1);
+		String nextCursor = (transfers.size() > pageSize) ?
+				new TransferHistoryCursor(last.getCreatedOn(), last.getId()).encode() :
+				null;
+
+		event.finish(accountId, TransferHistoryEvent.MODE_PAGE, pageSize, items.size());
+		return TransferOrderPageResource.builder()
+				.items(items)
+				.nextCursor(nextCursor)
+				.build();
+	}
+
+	@Override
+	public void streamTransferHistory(Long accountId, Consumer<TransferOrderResource> consumer) {
+		TransferHistoryEvent event = new TransferHistoryEvent();
+		event.begin();
+		AtomicLong rows = new AtomicLong();
+		// Streaming needs the transaction open until the last row is consumed
+		replicaReads.read(() -> {
+			try (Stream<TransferOrderResource> transfers = transferOrderRepository.streamBankAccountTransfers(accountId)) {
+				transfers.forEach(transfer -> {
+					consumer.accept(transfer);
+					rows.incrementAndGet();
+				});
+			}
+			return null;
+		});
+		event.finish(accountId, TransferHistoryEvent.MODE_STREAM, 0, rows.get());
 	}
 
 	// RESOURCE BUILDERS
@@ -121,18 +340,7 @@ public class BankingServiceImpl implements BankingService {
 				.name(bankAccount.getCustomer().getName())
 				.balanceInCents(bankAccount.getBalanceInCents())
 				.createdOn(bankAccount.getCreatedOn())
-				.build();
-	}
-
-	private TransferOrderResource transferOrderResource(
-			TransferOrder bankAccountAmountTransfer) {
-
-		return TransferOrderResource.builder()
-				.id(bankAccountAmountTransfer.getId())
-				.accountFromId(bankAccountAmountTransfer.getAccountFrom().getId())
-				.accountToId(bankAccountAmountTransfer.getAccountTo().getId())
-				.transferAmountInCents(bankAccountAmountTransfer.getAmountTransferredInCents())
-				.createdOn(bankAccountAmountTransfer.getCreatedOn())
+				.customerId(bankAccount.getCustomer().getId())
 				.build();
 	}
 }
@@ -23,12 +23,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import net.bopsys.banking.model.dto.CustomerDto;
 import net.bopsys.banking.model.entity.Customer;
 import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
 import net.bopsys.banking.repository.CustomerRepository;
+import net.bopsys.banking.service.bulk.CustomerJsonImporter;
+import net.bopsys.banking.service.cache.CustomerResourceCache;
 import net.bopsys.banking.service.interfaces.CustomerService;
+import net.bopsys.banking.service.jfr.CustomerCreationEvent;
+import net.bopsys.banking.service.replica.ReplicaReads;
 
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * @author Marco Ruiz
@@ -38,10 +47,22 @@ public class CustomerServiceImpl implements CustomerService {
 
 	private final CustomerRepository customerRepository;
 	private final ObjectMapper objectMapper;
+	private final CustomerResourceCache customerResourceCache;
+	private final CustomerJsonImporter customerJsonImporter;
+	private final ReplicaReads replicaReads;
+
+	public CustomerServiceImpl(
+			CustomerRepository customerRepository,
+			ObjectMapper objectMapper,
+			CustomerResourceCache customerResourceCache,
+			CustomerJsonImporter customerJsonImporter,
+			ReplicaReads replicaReads) {
 
-	public CustomerServiceImpl(CustomerRepository customerRepository, ObjectMapper objectMapper) {
 		this.customerRepository = customerRepository;
 		this.objectMapper = objectMapper;
+		this.customerResourceCache = customerResourceCache;
+		this.customerJsonImporter = customerJsonImporter;
+		this.replicaReads = replicaReads;
 	}
 
 	@Override
@@ -52,24 +73,51 @@ public class CustomerServiceImpl implements CustomerService {
 
 	@Override
 	public List<CustomerResource> createCustomers(List<CustomerDto> dtos) {
+		CustomerCreationEvent event = new CustomerCreationEvent();
+		event.begin();
 		List<Customer> customers = dtos.stream().map(Customer::new).toList();
+		// Customers are identified by the caller, so existing ones get updated. Only those may be cached anywhere
+		List<Long> updatedIds = findExistingIds(customers);
 		List<Customer> persistedCustomers = customerRepository.saveAllAndFlush(customers);
+		customerResourceCache.invalidate(updatedIds);
+		event.finish(CustomerCreationEvent.SOURCE_BATCH, dtos.size(), persistedCustomers.size(), 0);
 		return persistedCustomers.stream().map(this::buildCustomerResource).toList();
 	}
 
+	@Override
+	public ImportReportResource importCustomers(InputStream customersJson, Consumer<ImportReportResource> progressListener)
+			throws IOException {
+
+		CustomerCreationEvent event = new CustomerCreationEvent();
+		event.begin();
+		ImportReportResource report = customerJsonImporter.importCustomers(customersJson, progressListener);
+		event.finish(CustomerCreationEvent.SOURCE_IMPORT, report.getProcessed(), report.getImported(), report.getFailed());
+		return report;
+	}
+
 	@Override
 	public CustomerResource createCustomer(CustomerDto dto) {
-		return buildCustomerResource(customerRepository.save(new Customer(dto)));
+		Customer customer = new Customer(dto);
+		List<Long> updatedIds = findExistingIds(List.of(customer));
+		Customer persistedCustomer = customerRepository.save(customer);
+		customerResourceCache.invalidate(updatedIds);
+		return buildCustomerResource(persistedCustomer);
 	}
 
 	@Override
 	public CustomerResource getCustomer(Long customerId) {
-		return buildCustomerResource(customerRepository.findCustomer(customerId));
+		// Loaded from the primary: a stale replica read would outlive the invalidation of the entry in the cache
+		return customerResourceCache.get(customerId, id -> buildCustomerResource(customerRepository.findCustomer(id)));
 	}
 
 	@Override
 	public List<CustomerResource> getCustomers() {
-		return customerRepository.findAll().stream().map(this::buildCustomerResource).toList();
+		return replicaReads.read(() -> customerRepository.findAll()).stream().map(this::buildCustomerResource).toList();
+	}
+
+	private List<Long> findExistingIds(List<Customer> customers) {
+		List<Long> ids = customers.stream().map(Customer::getId).filter(Objects::nonNull).toList();
+		return ids.isEmpty() ? List.of() : customerRepository.findExistingIds(ids);
 	}
 
 	// RESOURCE BUILDERS
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service;
+
+import net.bopsys.banking.exception.InvalidTransferHistoryPageException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the transfer history of an account, ordered by creation time and then by id. Unlike offsets, a cursor
+ * keeps pointing at the same position when transfers are inserted concurrently, and resuming from it costs the same
+ * regardless of how deep in the history it is.
+ *
+ * @author Marco Ruiz
+ */
+public record TransferHistoryCursor(Instant createdOn, UUID id) {
+
+	private static final String SEPARATOR = "|";
+
+	public static TransferHistoryCursor decode(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separatorIndex = decoded.indexOf(SEPARATOR);
+			return new TransferHistoryCursor(
+					Instant.parse(decoded.substring(0, separatorIndex)),
+					UUID.fromString(decoded.substring(separatorIndex + 1))
+			);
+		} catch (RuntimeException e) {
+			throw new InvalidTransferHistoryPageException(String.format("malformed cursor '%s'", cursor));
+		}
+	}
+
+	public String encode() {
+		String decoded = createdOn + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.bopsys.banking.exception.RequestOpeningBankAccountWithNegativeBalanceException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Loads bank accounts, keeping the identifiers they are given so that transfers loaded afterwards can refer to them.
+ * <p>
+ * Columns: {@code id}, {@code customerId} and {@code initialBalanceInCents} are required; {@code balanceInCents}
+ * defaults to the initial balance and {@code createdOn} (ISO-8601) to the time of the load. The balance of an account
+ * is expected to already account for the transfers of its history loaded alongside, which do not change it.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+public class BankAccountBulkLoader extends BulkLoader<BankAccountBulkLoader.BankAccountBatch> {
+
+	private static final List<String> COLUMNS =
+			List.of("id", "customerId", "initialBalanceInCents", "balanceInCents", "createdOn");
+
+	private static final int ID = 0;
+	private static final int CUSTOMER_ID = 1;
+	private static final int INITIAL_BALANCE = 2;
+	private static final int BALANCE = 3;
+	private static final int CREATED_ON = 4;
+
+	private static final String INSERT_BANK_ACCOUNT =
+			"insert into bank_account (id, customer_id, initial_balance_in_cents, balance_in_cents, created_on, version) " +
+			"values (?, ?, ?, ?, ?, 0)";
+
+	public BankAccountBulkLoader(
+			BulkWriter bulkWriter,
+			ObjectMapper objectMapper,
+			@Value("${banking.bulk-load.batch-size:5000}") int batchSize,
+			@Value("${banking.bulk-load.max-reported-errors:1000}") int maxReportedErrors) {
+
+		super(bulkWriter, objectMapper.getFactory(), batchSize, maxReportedErrors);
+	}
+
+	@Override
+	protected List<String> columns() {
+		return COLUMNS;
+	}
+
+	@Override
+	protected BankAccountBatch newBatch(int capacity) {
+		return new BankAccountBatch(capacity, Instant.now().truncatedTo(ChronoUnit.MICROS));
+	}
+
+	@Override
+	protected String insertStatement() {
+		return INSERT_BANK_ACCOUNT;
+	}
+
+	@Override
+	protected String getRecordName() {
+		return "bank accounts";
+	}
+
+	/**
+	 * Moves the identity of the table past the identifiers loaded, so that accounts opened afterwards do not collide
+	 * with them (H2 syntax, like the rest of the configuration)
+	 */
+	@Override
+	protected void afterLoad() {
+		Long maxId = bulkWriter.getJdbcTemplate().queryForObject("select max(id) from bank_account", Long.class);
+		if (maxId != null)
+			bulkWriter.getJdbcTemplate().execute("alter table bank_account alter column id restart with " + (maxId + 1));
+	}
+
+	static class BankAccountBatch extends RowBatch {
+
+		private final Instant loadedOn;
+		private final long[] ids;
+		private final long[] customerIds;
+		private final long[] initialBalances;
+		private final long[] balances;
+		private final Instant[] createdOns;
+
+		BankAccountBatch(int capacity, Instant loadedOn) {
+			super(capacity);
+			this.loadedOn = loadedOn;
+			this.ids = new long[capacity];
+			this.customerIds = new long[capacity];
+			this.initialBalances = new long[capacity];
+			this.balances = new long[capacity];
+			this.createdOns = new Instant[capacity];
+		}
+
+		@Override
+		protected void set(int row, RowReader reader) {
+			long initialBalance = reader.getRequiredLong(INITIAL_BALANCE);
+			long balance = reader.has(BALANCE) ? reader.getLong(BALANCE) : initialBalance;
+			if (initialBalance < 0 || balance < 0)
+				throw new RequestOpeningBankAccountWithNegativeBalanceException(Math.min(initialBalance, balance));
+
+			ids[row] = reader.getRequiredLong(ID);
+			customerIds[row] = reader.getRequiredLong(CUSTOMER_ID);
+			initialBalances[row] = initialBalance;
+			balances[row] = balance;
+			createdOns[row] = reader.has(CREATED_ON) ?
+					reader.getInstant(CREATED_ON).truncatedTo(ChronoUnit.MICROS) :
+					loadedOn;
+		}
+
+		@Override
+		protected void bind(PreparedStatement statement, int row) throws SQLException {
+			statement.setLong(1, ids[row]);
+			statement.setLong(2, customerIds[row]);
+			statement.setLong(3, initialBalances[row]);
+			statement.setLong(4, balances[row]);
+			statement.setObject(5, OffsetDateTime.ofInstant(createdOns[row], ZoneOffset.UTC));
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import net.bopsys.banking.exception.InvalidImportException;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * Formats of the content that can be bulk loaded, one record per line:
+ * <ul>
+ *     <li>{@link #CSV}: comma separated values, with a header line naming the columns. Values are not quoted, as none
+ *     of the values loaded can contain commas</li>
+ *     <li>{@link #NDJSON}: one JSON object per line, with the columns as properties</li>
+ * </ul>
+ *
+ * @author Marco Ruiz
+ */
+public enum BulkFormat {
+
+	CSV("text/csv"),
+	NDJSON(MediaType.APPLICATION_NDJSON_VALUE);
+
+	private final MediaType mediaType;
+
+	BulkFormat(String mediaType) {
+		this.mediaType = MediaType.parseMediaType(mediaType);
+	}
+
+	public static BulkFormat of(MediaType contentType) {
+		return Arrays.stream(values())
+				.filter(format -> format.mediaType.isCompatibleWith(contentType))
+				.findFirst()
+				.orElseThrow(() -> new InvalidImportException(String.format("unsupported content type '%s'", contentType)));
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import net.bopsys.banking.model.resource.ImportReportResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Base of the loaders of large amounts of records of one kind, straight into their table.
+ * <p>
+ * The content is streamed and parsed row by row by the calling thread, into {@link RowBatch batches} of
+ * {@code banking.bulk-load.batch-size} rows which are written in parallel by the {@link BulkWriter} workers. The
+ * batches parsed ahead of the workers are bounded, so memory stays flat whatever the size of the content and however
+ * slow the database. Rows that cannot be parsed or are not valid are reported and skipped.
+ *
+ * @param <B> Type of the batches of the loader
+ * @author Marco Ruiz
+ */
+@Slf4j
+public abstract class BulkLoader<B extends RowBatch> {
+
+	protected final BulkWriter bulkWriter;
+	private final JsonFactory jsonFactory;
+	private final int batchSize;
+	private final int maxReportedErrors;
+
+	protected BulkLoader(BulkWriter bulkWriter, JsonFactory jsonFactory, int batchSize, int maxReportedErrors) {
+		this.bulkWriter = bulkWriter;
+		this.jsonFactory = jsonFactory;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	/**
+	 * Loads the records of some content
+	 *
+	 * @param format Format of the content
+	 * @param content Stream of the content
+	 * @return {@link ImportReportResource} of the load
+	 * @throws IOException If the content cannot be read
+	 */
+	public ImportReportResource load(BulkFormat format, InputStream content) throws IOException {
+		ImportProgress progress = new ImportProgress(maxReportedErrors);
+		RowReader rows = RowReader.open(format, content, columns(), jsonFactory);
+
+		// Each worker can be writing one batch while the next one waits for it
+		int maxPendingBatches = 2 * bulkWriter.getWorkerCount();
+		Semaphore pendingBatches = new Semaphore(maxPendingBatches);
+		try {
+			B batch = newBatch(batchSize);
+			while (rows.next()) {
+				progress.processed(1);
+				if (add(batch, rows, progress) && batch.isFull()) {
+					submit(batch, progress, pendingBatches);
+					batch = newBatch(batchSize);
+				}
+			}
+			if (batch.size() > 0)
+				submit(batch, progress, pendingBatches);
+			progress.completed();
+		} finally {
+			// Waits for all the batches submitted to be written
+			pendingBatches.acquireUninterruptibly(maxPendingBatches);
+		}
+
+		afterLoad();
+		ImportReportResource report = progress.report();
+		log.info("Loaded {} {} ({} failed)", report.getImported(), getRecordName(), report.getFailed());
+		return report;
+	}
+
+	/**
+	 * Names of the columns of the records loaded
+	 */
+	protected abstract List<String> columns();
+
+	protected abstract B newBatch(int capacity);
+
+	/**
+	 * Insert statement of a row, with its parameters in the order its batches bind them
+	 */
+	protected abstract String insertStatement();
+
+	protected abstract String getRecordName();
+
+	/**
+	 * Invoked once all the batches of a load have been written
+	 */
+	protected void afterLoad() {
+	}
+
+	private boolean add(B batch, RowReader rows, ImportProgress progress) {
+		String error = rows.getError();
+		if (error == null) {
+			try {
+				batch.add(rows);
+				return true;
+			} catch (RuntimeException e) {
+				error = e.getMessage();
+			}
+		}
+		progress.failed(rows.getIndex(), error);
+		return false;
+	}
+
+	private void submit(B batch, ImportProgress progress, Semaphore pendingBatches) {
+		pendingBatches.acquireUninterruptibly();
+		try {
+			bulkWriter.getWorkers().execute(() -> {
+				try {
+					bulkWriter.write(insertStatement(), batch, progress);
+				} finally {
+					pendingBatches.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pendingBatches.release();
+			throw e;
+		}
+	}
+}
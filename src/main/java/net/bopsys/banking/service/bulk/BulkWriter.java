@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the {@link RowBatch batches} of the bulk loaders with plain JDBC batches, on a pool of workers shared by all
+ * the loads in progress. Each worker writes one batch at a time, in its own transaction, so the size of the pool bounds
+ * the database connections taken by bulk loads ({@code banking.bulk-load.workers}, to be kept below the size of the
+ * connection pool).
+ * <p>
+ * A batch failing to be written is written again one row at a time, so that only the rows at fault are reported and
+ * skipped.
+ *
+ * @author Marco Ruiz
+ */
+@Slf4j
+@Component
+public class BulkWriter {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionOperations transactionOperations;
+	private final int workerCount;
+	private final ExecutorService workers;
+
+	public BulkWriter(
+			JdbcTemplate jdbcTemplate,
+			TransactionOperations transactionOperations,
+			@Value("${banking.bulk-load.workers:4}") int workerCount) {
+
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionOperations = transactionOperations;
+		this.workerCount = Math.max(1, workerCount);
+
+		AtomicInteger threadCount = new AtomicInteger();
+		this.workers = Executors.newFixedThreadPool(this.workerCount,
+				runnable -> new Thread(runnable, "bulk-load-worker-" + threadCount.incrementAndGet()));
+	}
+
+	@PreDestroy
+	public void stop() {
+		workers.shutdownNow();
+	}
+
+	int getWorkerCount() {
+		return workerCount;
+	}
+
+	ExecutorService getWorkers() {
+		return workers;
+	}
+
+	JdbcTemplate getJdbcTemplate() {
+		return jdbcTemplate;
+	}
+
+	/**
+	 * Writes a batch, reporting the rows written and the rows failed
+	 *
+	 * @param insert Insert statement of a row
+	 * @param batch Rows to write
+	 * @param progress Progress of the load the batch belongs to
+	 */
+	void write(String insert, RowBatch batch, ImportProgress progress) {
+		try {
+			insert(insert, batch, 0, batch.size());
+			progress.imported(batch.size());
+			return;
+		} catch (RuntimeException e) {
+			log.debug("Failed to write batch of {} rows; writing them one at a time", batch.size(), e);
+		}
+
+		for (int row = 0; row < batch.size(); row++) {
+			try {
+				insert(insert, batch, row, row + 1);
+				progress.imported(1);
+			} catch (RuntimeException e) {
+				progress.failed(batch.getIndex(row), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+			}
+		}
+	}
+
+	private void insert(String insert, RowBatch batch, int from, int to) {
+		transactionOperations.executeWithoutResult(status -> jdbcTemplate.batchUpdate(insert,
+				new BatchPreparedStatementSetter() {
+
+					@Override
+					public void setValues(PreparedStatement statement, int i) throws SQLException {
+						batch.bind(statement, from + i);
+					}
+
+					@Override
+					public int getBatchSize() {
+						return to - from;
+					}
+				}));
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import net.bopsys.banking.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * {@link RowReader} of comma separated values, with a header line naming the columns. Columns not of interest are
+ * ignored, and columns of interest missing from the header have no value in any row.
+ * <p>
+ * Values are located within the bytes of the current line, and numbers are parsed straight from them. Only values
+ * read as strings are decoded into objects.
+ *
+ * @author Marco Ruiz
+ */
+class CsvRowReader extends RowReader {
+
+	// Longest number of digits that cannot overflow a long
+	private static final int MAX_SAFE_DIGITS = 18;
+
+	// Position in the line of each column of interest, or -1 when missing from the header
+	private final int[] positions;
+	private final int fieldCount;
+	private final int[] fieldStarts;
+	private final int[] fieldEnds;
+	private String error;
+
+	CsvRowReader(InputStream in, List<String> columns) throws IOException {
+		super(in, columns);
+		if (!lines.next())
+			throw new InvalidImportException("missing header line");
+
+		String[] header = lines.string(0, lines.length()).split(",", -1);
+		this.positions = new int[columns.size()];
+		for (int column = 0; column < positions.length; column++)
+			positions[column] = indexOf(header, columns.get(column));
+
+		this.fieldCount = header.length;
+		this.fieldStarts = new int[fieldCount];
+		this.fieldEnds = new int[fieldCount];
+	}
+
+	@Override
+	protected void parse() {
+		error = null;
+		byte[] bytes = lines.bytes();
+		int length = lines.length();
+
+		int field = 0;
+		int start = 0;
+		for (int i = 0; i <= length; i++) {
+			if (i == length || bytes[i] == ',') {
+				if (field == fieldCount) {
+					error = String.format("More than the %d values of the header", fieldCount);
+					return;
+				}
+				fieldStarts[field] = trimStart(bytes, start, i);
+				fieldEnds[field] = trimEnd(bytes, fieldStarts[field], i);
+				field++;
+				start = i + 1;
+			}
+		}
+
+		// Values missing at the end of the line are empty
+		for (; field < fieldCount; field++)
+			fieldStarts[field] = fieldEnds[field] = 0;
+	}
+
+	@Override
+	String getError() {
+		return error;
+	}
+
+	@Override
+	boolean has(int column) {
+		int position = positions[column];
+		return position >= 0 && fieldEnds[position] > fieldStarts[position];
+	}
+
+	@Override
+	long getLong(int column) {
+		int position = positions[column];
+		byte[] bytes = lines.bytes();
+		int from = fieldStarts[position];
+		int to = fieldEnds[position];
+
+		boolean negative = from < to && bytes[from] == '-';
+		int digitsFrom = negative ? from + 1 : from;
+		if (digitsFrom == to || to - digitsFrom > MAX_SAFE_DIGITS)
+			return Long.parseLong(getString(column));
+
+		long value = 0;
+		for (int i = digitsFrom; i < to; i++) {
+			int digit = bytes[i] - '0';
+			if (digit < 0 || digit > 9)
+				throw new NumberFormatException(String.format("For input string: \"%s\"", getString(column)));
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	@Override
+	String getString(int column) {
+		int position = positions[column];
+		return lines.string(fieldStarts[position], fieldEnds[position]);
+	}
+
+	private static int indexOf(String[] header, String column) {
+		for (int i = 0; i < header.length; i++) {
+			if (header[i].trim().equals(column))
+				return i;
+		}
+		return -1;
+	}
+
+	private static int trimStart(byte[] bytes, int from, int to) {
+		while (from < to && bytes[from] == ' ')
+			from++;
+		return from;
+	}
+
+	private static int trimEnd(byte[] bytes, int from, int to) {
+		while (to > from && bytes[to - 1] == ' ')
+			to--;
+		return to;
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.bopsys.banking.exception.InvalidImportException;
+import net.bopsys.banking.model.dto.CustomerDto;
+import net.bopsys.banking.model.entity.Customer;
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.repository.CustomerRepository;
+import net.bopsys.banking.service.cache.CustomerResourceCache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports customers from a JSON array of any size, with memory bounded by the size of a chunk rather than by the size
+ * of the array.
+ * <p>
+ * The array is tokenized incrementally and its records are persisted in chunks of {@code banking.customer-import.batch-size}
+ * records, each one in its own transaction and written with JDBC batching ({@code hibernate.jdbc.batch_size}). The
+ * persistence context is cleared after every chunk, as it may outlive the transactions of the import (e.g. when the
+ * import runs within a web request with an open session in view).
+ * <p>
+ * Invalid records are reported and skipped. A chunk failing to be written is written again one record at a time, so
+ * that only the records at fault are reported and skipped. Malformed content ends the import, as nothing after it can
+ * be read reliably, but the chunks committed until then are kept.
+ *
+ * @author Marco Ruiz
+ */
+@Slf4j
+@Component
+public class CustomerJsonImporter {
+
+	private final CustomerRepository customerRepository;
+	private final EntityManager entityManager;
+	private final TransactionOperations transactionOperations;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final CustomerResourceCache customerResourceCache;
+	private final int batchSize;
+	private final int maxReportedErrors;
+
+	public CustomerJsonImporter(
+			CustomerRepository customerRepository,
+			EntityManager entityManager,
+			TransactionOperations transactionOperations,
+			ObjectMapper objectMapper,
+			Validator validator,
+			CustomerResourceCache customerResourceCache,
+			@Value("${banking.customer-import.batch-size:500}") int batchSize,
+			@Value("${banking.customer-import.max-reported-errors:1000}") int maxReportedErrors) {
+
+		this.customerRepository = customerRepository;
+		this.entityManager = entityManager;
+		this.transactionOperations = transactionOperations;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.customerResourceCache = customerResourceCache;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	/**
+	 * Imports the customers of a JSON array
+	 *
+	 * @param customersJson Stream of the JSON array of customers to import
+	 * @param progressListener Listener notified with the report of the import so far after every chunk written
+	 * @return {@link ImportReportResource} of the import
+	 * @throws IOException If the stream cannot be read
+	 */
+	public ImportReportResource importCustomers(InputStream customersJson, Consumer<ImportReportResource> progressListener)
+			throws IOException {
+
+		ImportProgress progress = new ImportProgress(maxReportedErrors);
+		List<Item> chunk = new ArrayList<>(batchSize);
+
+		try (JsonParser parser = objectMapper.getFactory().createParser(customersJson)) {
+			startArray(parser);
+
+			long index = 0;
+			try {
+				for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+					if (token == null)
+						throw new JsonParseException(parser, "Unexpected end of content");
+
+					JsonNode node = objectMapper.readTree(parser);
+					progress.processed(1);
+					CustomerDto dto = customerDto(index, node, progress);
+					if (dto != null)
+						chunk.add(new Item(index, dto));
+
+					if (chunk.size() == batchSize) {
+						write(chunk, progress);
+						chunk.clear();
+						progressListener.accept(progress.report());
+					}
+				}
+				progress.completed();
+			} catch (JsonProcessingException e) {
+				progress.processed(1);
+				progress.failed(index, String.format("Malformed content: %s", e.getOriginalMessage()));
+			}
+
+			if (!chunk.isEmpty()) {
+				write(chunk, progress);
+				progressListener.accept(progress.report());
+			}
+		}
+
+		ImportReportResource report = progress.report();
+		log.info("Imported {} customers ({} failed)", report.getImported(), report.getFailed());
+		return report;
+	}
+
+	private static void startArray(JsonParser parser) throws IOException {
+		try {
+			if (parser.nextToken() != JsonToken.START_ARRAY)
+				throw new InvalidImportException("customers must be provided as a JSON array");
+		} catch (JsonProcessingException e) {
+			throw new InvalidImportException(e.getOriginalMessage());
+		}
+	}
+
+	private CustomerDto customerDto(long index, JsonNode node, ImportProgress progress) {
+		try {
+			CustomerDto dto = objectMapper.treeToValue(node, CustomerDto.class);
+			Set<ConstraintViolation<CustomerDto>> violations = validator.validate(dto);
+			if (violations.isEmpty())
+				return dto;
+
+			progress.failed(index, violations.stream()
+					.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.joining(", ")));
+		} catch (JsonProcessingException e) {
+			progress.failed(index, e.getOriginalMessage());
+		}
+		return null;
+	}
+
+	private void write(List<Item> chunk, ImportProgress progress) {
+		if (tryUpsert(chunk)) {
+			progress.imported(chunk.size());
+			log.debug("Imported chunk of {} customers", chunk.size());
+			return;
+		}
+
+		// Isolates the records at fault by writing the chunk again one record at a time
+		for (Item item : chunk) {
+			try {
+				upsert(List.of(item));
+				progress.imported(1);
+			} catch (RuntimeException e) {
+				entityManager.clear();
+				progress.failed(item.index(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+			}
+		}
+	}
+
+	private boolean tryUpsert(List<Item> chunk) {
+		try {
+			upsert(chunk);
+			return true;
+		} catch (RuntimeException e) {
+			entityManager.clear();
+			log.debug("Failed to import chunk of {} customers; importing them one at a time", chunk.size(), e);
+			return false;
+		}
+	}
+
+	private void upsert(List<Item> items) {
+		List<Long> updatedIds = transactionOperations.execute(status -> {
+			// Later records of a customer override the earlier ones, as they would when saved one after the other
+			Map<Long, CustomerDto> dtos = new LinkedHashMap<>();
+			items.forEach(item -> dtos.put(item.dto().getId(), item.dto()));
+
+			// Customers are identified by the caller, so existing ones get updated
+			List<Long> updated = new ArrayList<>();
+			for (Customer customer : customerRepository.findAllById(dtos.keySet())) {
+				customer.setName(dtos.remove(customer.getId()).getName());
+				updated.add(customer.getId());
+			}
+			dtos.values().forEach(dto -> entityManager.persist(new Customer(dto)));
+
+			entityManager.flush();
+			entityManager.clear();
+			return updated;
+		});
+
+		customerResourceCache.invalidate(updatedIds);
+	}
+
+	private record Item(long index, CustomerDto dto) {}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import net.bopsys.banking.model.resource.ImportErrorResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tally of an import in progress. Safe to update from several threads at once.
+ * <p>
+ * Only the first errors, up to a maximum, are kept, so that the memory taken by the tally of an import stays bounded
+ * however many of its records fail.
+ *
+ * @author Marco Ruiz
+ */
+public class ImportProgress {
+
+	private final int maxReportedErrors;
+	private final List<ImportErrorResource> errors = new ArrayList<>();
+
+	private long processed;
+	private long imported;
+	private long failed;
+	private boolean completed;
+
+	public ImportProgress(int maxReportedErrors) {
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	public synchronized void processed(long records) {
+		processed += records;
+	}
+
+	public synchronized void imported(long records) {
+		imported += records;
+	}
+
+	public synchronized void failed(long index, String error) {
+		failed++;
+		if (errors.size() < maxReportedErrors)
+			errors.add(new ImportErrorResource(index, error));
+	}
+
+	public synchronized void completed() {
+		completed = true;
+	}
+
+	public synchronized ImportReportResource report() {
+		return ImportReportResource.builder()
+				.processed(processed)
+				.imported(imported)
+				.failed(failed)
+				.completed(completed)
+				.errors(List.copyOf(errors))
+				.build();
+	}
+}
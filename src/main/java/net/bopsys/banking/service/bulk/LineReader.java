@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the lines of a stream into a reusable buffer, so that reading a line allocates nothing once the buffer is as
+ * large as the longest line. Both {@code \n} and {@code \r\n} line terminators are accepted.
+ *
+ * @author Marco Ruiz
+ */
+class LineReader {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final InputStream in;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+	private int limit;
+
+	private byte[] line = new byte[256];
+	private int length;
+
+	LineReader(InputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * Advances to the next line
+	 *
+	 * @return Whether there was a next line
+	 */
+	boolean next() throws IOException {
+		length = 0;
+		while (true) {
+			if (position == limit && !fill())
+				return length > 0;
+
+			for (int i = position; i < limit; i++) {
+				if (buffer[i] == '\n') {
+					append(position, i);
+					position = i + 1;
+					if (length > 0 && line[length - 1] == '\r')
+						length--;
+					return true;
+				}
+			}
+			append(position, limit);
+			position = limit;
+		}
+	}
+
+	/**
+	 * Bytes of the current line. Only valid until the next call to {@link #next()}
+	 */
+	byte[] bytes() {
+		return line;
+	}
+
+	int length() {
+		return length;
+	}
+
+	boolean isBlank() {
+		for (int i = 0; i < length; i++) {
+			if (line[i] != ' ' && line[i] != '\t')
+				return false;
+		}
+		return true;
+	}
+
+	String string(int from, int to) {
+		return new String(line, from, to - from, StandardCharsets.UTF_8);
+	}
+
+	private boolean fill() throws IOException {
+		int read = in.read(buffer);
+		if (read <= 0)
+			return false;
+
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+	private void append(int from, int to) {
+		int count = to - from;
+		if (length + count > line.length)
+			line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+		System.arraycopy(buffer, from, line, length, count);
+		length += count;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link RowReader} of newline delimited JSON: one object per line, with the columns as properties. Properties not of
+ * interest are ignored.
+ * <p>
+ * Every line is tokenized on its own, straight from the bytes of the line, so that a malformed line does not prevent
+ * the following ones from being read. Integer values are kept as primitives; only string values are decoded into
+ * objects.
+ *
+ * @author Marco Ruiz
+ */
+class NdjsonRowReader extends RowReader {
+
+	private static final byte ABSENT = 0;
+	private static final byte NUMBER = 1;
+	private static final byte STRING = 2;
+
+	private final JsonFactory jsonFactory;
+	private final byte[] kinds;
+	private final long[] numbers;
+	private final String[] strings;
+	private String error;
+
+	NdjsonRowReader(InputStream in, List<String> columns, JsonFactory jsonFactory) {
+		super(in, columns);
+		this.jsonFactory = jsonFactory;
+		this.kinds = new byte[columns.size()];
+		this.numbers = new long[columns.size()];
+		this.strings = new String[columns.size()];
+	}
+
+	@Override
+	protected void parse() throws IOException {
+		error = null;
+		Arrays.fill(kinds, ABSENT);
+		Arrays.fill(strings, null);
+
+		try (JsonParser parser = jsonFactory.createParser(lines.bytes(), 0, lines.length())) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				error = "Not a JSON object";
+				return;
+			}
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				int column = columns.indexOf(parser.currentName());
+				JsonToken token = parser.nextToken();
+				if (column < 0) {
+					parser.skipChildren();
+				} else if (token == JsonToken.VALUE_NUMBER_INT) {
+					kinds[column] = NUMBER;
+					numbers[column] = parser.getLongValue();
+				} else if (token == JsonToken.VALUE_STRING) {
+					kinds[column] = STRING;
+					strings[column] = parser.getText();
+				} else if (token != JsonToken.VALUE_NULL) {
+					error = String.format("Unexpected value for '%s'", columns.get(column));
+					return;
+				}
+			}
+
+			if (parser.nextToken() != null)
+				error = "Unexpected content after the JSON object";
+		} catch (JsonProcessingException e) {
+			error = String.format("Malformed JSON: %s", e.getOriginalMessage());
+		}
+	}
+
+	@Override
+	String getError() {
+		return error;
+	}
+
+	@Override
+	boolean has(int column) {
+		return kinds[column] != ABSENT;
+	}
+
+	@Override
+	long getLong(int column) {
+		return (kinds[column] == NUMBER) ? numbers[column] : Long.parseLong(strings[column]);
+	}
+
+	@Override
+	String getString(int column) {
+		return (kinds[column] == NUMBER) ? String.valueOf(numbers[column]) : strings[column];
+	}
+}
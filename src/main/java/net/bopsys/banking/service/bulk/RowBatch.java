@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Batch of rows to be inserted together, held column by column in arrays allocated once per batch rather than as one
+ * object per row.
+ *
+ * @author Marco Ruiz
+ */
+abstract class RowBatch {
+
+	// Position of each row among the rows of the content loaded
+	private final long[] indexes;
+	private int size;
+
+	protected RowBatch(int capacity) {
+		this.indexes = new long[capacity];
+	}
+
+	/**
+	 * Adds the current row of a reader to the batch
+	 *
+	 * @throws RuntimeException If the values of the row are not valid, in which case the row is not added
+	 */
+	void add(RowReader row) {
+		set(size, row);
+		indexes[size++] = row.getIndex();
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isFull() {
+		return size == indexes.length;
+	}
+
+	long getIndex(int row) {
+		return indexes[row];
+	}
+
+	/**
+	 * Validates the values of the current row of a reader and holds them in a slot of the batch
+	 */
+	protected abstract void set(int row, RowReader reader);
+
+	/**
+	 * Binds the values of a row of the batch to the parameters of the insert statement of the loader
+	 */
+	protected abstract void bind(PreparedStatement statement, int row) throws SQLException;
+}
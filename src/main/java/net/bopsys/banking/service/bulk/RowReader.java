@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the records of bulk loaded content row by row, exposing the values of a fixed set of columns of the current
+ * row. Rows are parsed into state reused from one row to the next, so that reading them churns as few objects as the
+ * format allows.
+ * <p>
+ * Content that cannot be parsed into a row is reported through {@link #getError()} rather than thrown, so that the
+ * rest of the content can still be read.
+ *
+ * @author Marco Ruiz
+ */
+abstract class RowReader {
+
+	protected final List<String> columns;
+	protected final LineReader lines;
+	private long index = -1;
+
+	protected RowReader(InputStream in, List<String> columns) {
+		this.columns = columns;
+		this.lines = new LineReader(in);
+	}
+
+	static RowReader open(BulkFormat format, InputStream in, List<String> columns, JsonFactory jsonFactory)
+			throws IOException {
+
+		return switch (format) {
+			case CSV -> new CsvRowReader(in, columns);
+			case NDJSON -> new NdjsonRowReader(in, columns, jsonFactory);
+		};
+	}
+
+	/**
+	 * Advances to the next row, skipping blank lines
+	 *
+	 * @return Whether there was a next row
+	 */
+	boolean next() throws IOException {
+		do {
+			if (!lines.next())
+				return false;
+		} while (lines.isBlank());
+
+		index++;
+		parse();
+		return true;
+	}
+
+	/**
+	 * Position of the current row among the rows of the content
+	 */
+	long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Error found parsing the current row, if any. The values of a row with an error are undefined
+	 */
+	abstract String getError();
+
+	/**
+	 * Whether the current row has a value for a column
+	 *
+	 * @param column Position of the column among the columns of interest
+	 */
+	abstract boolean has(int column);
+
+	abstract long getLong(int column);
+
+	abstract String getString(int column);
+
+	Instant getInstant(int column) {
+		return Instant.parse(getString(column));
+	}
+
+	long getRequiredLong(int column) {
+		requireValue(column);
+		return getLong(column);
+	}
+
+	Instant getRequiredInstant(int column) {
+		requireValue(column);
+		return getInstant(column);
+	}
+
+	UUID getUuid(int column) {
+		return UUID.fromString(getString(column));
+	}
+
+	protected abstract void parse() throws IOException;
+
+	private void requireValue(int column) {
+		if (!has(column))
+			throw new IllegalArgumentException(String.format("Missing value for '%s'", columns.get(column)));
+	}
+}
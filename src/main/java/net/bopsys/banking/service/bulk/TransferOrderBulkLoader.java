@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
+import net.bopsys.banking.exception.TransferAmountTooLowException;
+import net.bopsys.banking.model.entity.TimeOrderedUuidGenerator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Loads historical transfers. Transfers loaded are only recorded: the balances of the accounts involved are not
+ * changed, as they are expected to already account for them (see {@link BankAccountBulkLoader}).
+ * <p>
+ * Columns: {@code accountFromId}, {@code accountToId}, {@code amountInCents} and {@code createdOn} (ISO-8601) are
+ * required; {@code id} is generated when missing. Transfers must be dated after the latest balance checkpoint of their
+ * accounts to be counted in their live balances, which is always the case for accounts loaded alongside them.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+public class TransferOrderBulkLoader extends BulkLoader<TransferOrderBulkLoader.TransferOrderBatch> {
+
+	private static final List<String> COLUMNS =
+			List.of("id", "accountFromId", "accountToId", "amountInCents", "createdOn");
+
+	private static final int ID = 0;
+	private static final int ACCOUNT_FROM_ID = 1;
+	private static final int ACCOUNT_TO_ID = 2;
+	private static final int AMOUNT = 3;
+	private static final int CREATED_ON = 4;
+
+	private static final String INSERT_TRANSFER_ORDER =
+			"insert into transfer_order (id, account_from_id, account_to_id, amount_transferred_in_cents, created_on) " +
+			"values (?, ?, ?, ?, ?)";
+
+	public TransferOrderBulkLoader(
+			BulkWriter bulkWriter,
+			ObjectMapper objectMapper,
+			@Value("${banking.bulk-load.batch-size:5000}") int batchSize,
+			@Value("${banking.bulk-load.max-reported-errors:1000}") int maxReportedErrors) {
+
+		super(bulkWriter, objectMapper.getFactory(), batchSize, maxReportedErrors);
+	}
+
+	@Override
+	protected List<String> columns() {
+		return COLUMNS;
+	}
+
+	@Override
+	protected TransferOrderBatch newBatch(int capacity) {
+		return new TransferOrderBatch(capacity);
+	}
+
+	@Override
+	protected String insertStatement() {
+		return INSERT_TRANSFER_ORDER;
+	}
+
+	@Override
+	protected String getRecordName() {
+		return "transfers";
+	}
+
+	static class TransferOrderBatch extends RowBatch {
+
+		private final UUID[] ids;
+		private final long[] accountFromIds;
+		private final long[] accountToIds;
+		private final long[] amounts;
+		private final Instant[] createdOns;
+
+		TransferOrderBatch(int capacity) {
+			super(capacity);
+			this.ids = new UUID[capacity];
+			this.accountFromIds = new long[capacity];
+			this.accountToIds = new long[capacity];
+			this.amounts = new long[capacity];
+			this.createdOns = new Instant[capacity];
+		}
+
+		@Override
+		protected void set(int row, RowReader reader) {
+			long accountFromId = reader.getRequiredLong(ACCOUNT_FROM_ID);
+			long accountToId = reader.getRequiredLong(ACCOUNT_TO_ID);
+			if (accountFromId == accountToId)
+				throw new SameBankAccountTransferNotAllowedException(accountFromId);
+
+			long amount = reader.getRequiredLong(AMOUNT);
+			if (amount <= 0)
+				throw new TransferAmountTooLowException(amount);
+
+			createdOns[row] = reader.getRequiredInstant(CREATED_ON).truncatedTo(ChronoUnit.MICROS);
+			ids[row] = reader.has(ID) ? reader.getUuid(ID) : TimeOrderedUuidGenerator.nextUuid();
+			accountFromIds[row] = accountFromId;
+			accountToIds[row] = accountToId;
+			amounts[row] = amount;
+		}
+
+		@Override
+		protected void bind(PreparedStatement statement, int row) throws SQLException {
+			statement.setObject(1, ids[row]);
+			statement.setLong(2, accountFromIds[row]);
+			statement.setLong(3, accountToIds[row]);
+			statement.setLong(4, amounts[row]);
+			statement.setObject(5, OffsetDateTime.ofInstant(createdOns[row], ZoneOffset.UTC));
+		}
+	}
+}
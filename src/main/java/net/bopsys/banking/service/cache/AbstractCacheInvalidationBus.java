@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Base of the {@link CacheInvalidationBus} implementations: notifies the subscribers of this node synchronously and
+ * leaves the propagation to other nodes to the implementation.
+ * <p>
+ * The delay between the publication of an invalidation and its delivery to another node is the window during which
+ * that node may serve stale state. It is recorded by the {@code banking.cache-invalidation.staleness} timer.
+ *
+ * @author Marco Ruiz
+ */
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+	protected final String nodeId = UUID.randomUUID().toString();
+
+	private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+	private final Timer staleness;
+
+	protected AbstractCacheInvalidationBus(String busName, MeterRegistry meterRegistry) {
+		this.staleness = Timer.builder("banking.cache-invalidation.staleness")
+				.description("Delay between the publication of a cache invalidation and its delivery to another node")
+				.tag("bus", busName)
+				.publishPercentiles(0.5, 0.99)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void publish(CacheInvalidation.Type type, Collection<Long> ids) {
+		List<Long> changedIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+		if (changedIds.isEmpty())
+			return;
+
+		CacheInvalidation invalidation = new CacheInvalidation(type, changedIds, nodeId, Instant.now());
+		deliver(invalidation);
+		propagate(invalidation);
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidation> subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	/**
+	 * Propagates an invalidation published by this node to the other nodes
+	 */
+	protected abstract void propagate(CacheInvalidation invalidation);
+
+	/**
+	 * Delivers an invalidation published by another node to the subscribers of this one
+	 */
+	protected void deliverRemote(CacheInvalidation invalidation) {
+		Duration delay = Duration.between(invalidation.publishedOn(), Instant.now());
+		staleness.record(delay.isNegative() ? Duration.ZERO : delay);
+		deliver(invalidation);
+	}
+
+	private void deliver(CacheInvalidation invalidation) {
+		subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+	}
+}
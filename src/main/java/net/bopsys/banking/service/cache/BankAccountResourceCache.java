@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import net.bopsys.banking.model.resource.BankAccountResource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of {@link BankAccountResource}s by account identifier, bounded in size and in time to live.
+ * <p>
+ * Entries are invalidated through the {@link CacheInvalidationBus} by every write path changing the state they reflect
+ * (i.e. transfers, on any node), right after the change is committed, as well as when the customer owning the account
+ * changes, found through an index of the cached accounts by customer kept along with the entries. An invalidation
+ * waits for any load of the same entry in progress and discards its result, so a load that read the state before the
+ * commit can never outlive it in the cache. The time to live bounds the staleness of entries changed by anything else.
+ * <p>
+ * Hits, misses, evictions and size are published as the {@code cache.*} meters tagged with
+ * {@code cache=bankAccountResources}. The cache can be disabled per environment with
+ * {@code banking.account-cache.enabled=false}, in which case every read goes straight to the loader.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+public class BankAccountResourceCache {
+
+	static final String CACHE_NAME = "bankAccountResources";
+
+	private final Cache<Long, BankAccountResource> cache;
+	// Identifiers of the cached accounts by customer. Updated atomically with the entries they index
+	private final Map<Long, Set<Long>> accountIdsByCustomerId = new ConcurrentHashMap<>();
+	private final CacheInvalidationBus invalidationBus;
+	private final Counter invalidations;
+
+	public BankAccountResourceCache(
+			@Value("${banking.account-cache.enabled:true}") boolean enabled,
+			@Value("${banking.account-cache.maximum-size:100000}") long maximumSize,
+			@Value("${banking.account-cache.time-to-live:30s}") Duration timeToLive,
+			CacheInvalidationBus invalidationBus,
+			MeterRegistry meterRegistry) {
+
+		this.cache = !enabled ? null : Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.recordStats()
+				.<Long, BankAccountResource>evictionListener((accountId, resource, cause) -> unindex(resource))
+				.build();
+		this.invalidationBus = invalidationBus;
+		this.invalidations = Counter.builder("banking.account-cache.invalidations")
+				.description("Bank account resources invalidated by writes")
+				.register(meterRegistry);
+
+		if (cache != null) {
+			CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+			invalidationBus.subscribe(this::onInvalidation);
+		}
+	}
+
+	/**
+	 * Retrieves the resource of a bank account, loading it if it is not cached
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @param loader Loader of the resource of the bank account. Exceptions thrown by it are propagated and nothing is
+	 * cached
+	 * @return {@link BankAccountResource} of interest
+	 */
+	public BankAccountResource get(Long accountId, Function<Long, BankAccountResource> loader) {
+		if (cache == null || accountId == null)
+			return loader.apply(accountId);
+
+		return cache.get(accountId, id -> index(loader.apply(id)));
+	}
+
+	/**
+	 * Caches the resource of a freshly created bank account
+	 */
+	public void put(BankAccountResource resource) {
+		if (cache != null && resource.getId() != null)
+			cache.asMap().compute(resource.getId(), (accountId, previous) -> index(resource));
+	}
+
+	/**
+	 * Invalidates the resources of bank accounts whose state has changed, on every node. Must be called after the
+	 * change is committed
+	 *
+	 * @param accountIds Identifiers of the bank accounts changed
+	 */
+	public void invalidate(Collection<Long> accountIds) {
+		invalidationBus.publish(CacheInvalidation.Type.BANK_ACCOUNT, accountIds);
+	}
+
+	private void onInvalidation(CacheInvalidation invalidation) {
+		switch (invalidation.type()) {
+			case BANK_ACCOUNT -> {
+				invalidation.ids().forEach(this::invalidateEntry);
+				invalidations.increment(invalidation.ids().size());
+			}
+			case CUSTOMER -> {
+				for (Long customerId : invalidation.ids()) {
+					Set<Long> accountIds = (customerId != null) ? accountIdsByCustomerId.get(customerId) : null;
+					if (accountIds != null) {
+						List<Long> invalidatedAccountIds = List.copyOf(accountIds);
+						invalidatedAccountIds.forEach(this::invalidateEntry);
+						invalidations.increment(invalidatedAccountIds.size());
+					}
+				}
+			}
+		}
+	}
+
+	// Waits for any load of the entry in progress, as Cache.invalidate does
+	private void invalidateEntry(Long accountId) {
+		if (accountId != null)
+			cache.asMap().computeIfPresent(accountId, (id, resource) -> {
+				unindex(resource);
+				return null;
+			});
+	}
+
+	private BankAccountResource index(BankAccountResource resource) {
+		if (resource != null && resource.getCustomerId() != null)
+			accountIdsByCustomerId.compute(resource.getCustomerId(), (customerId, accountIds) -> {
+				Set<Long> indexed = (accountIds != null) ? accountIds : ConcurrentHashMap.newKeySet();
+				indexed.add(resource.getId());
+				return indexed;
+			});
+		return resource;
+	}
+
+	private void unindex(BankAccountResource resource) {
+		if (resource != null && resource.getCustomerId() != null)
+			accountIdsByCustomerId.computeIfPresent(resource.getCustomerId(), (customerId, accountIds) -> {
+				accountIds.remove(resource.getId());
+				return accountIds.isEmpty() ? null : accountIds;
+			});
+	}
+
+	Set<Long> indexedAccountIds(Long customerId) {
+		return accountIdsByCustomerId.getOrDefault(customerId, Set.of());
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Notice that the cached state of some entities has changed and must be discarded by every application node
+ *
+ * @param type Type of the entities changed
+ * @param ids Identifiers of the entities changed
+ * @param originNodeId Identifier of the {@link CacheInvalidationBus} that published the notice
+ * @param publishedOn Time at which the notice was published
+ * @author Marco Ruiz
+ */
+public record CacheInvalidation(Type type, List<Long> ids, String originNodeId, Instant publishedOn) {
+
+	public enum Type { BANK_ACCOUNT, CUSTOMER }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Channel through which cache invalidations are broadcast to all the application nodes, so that node-local caches
+ * stay coherent with the writes performed by any of them.
+ * <p>
+ * Implementations are selected with {@code banking.cache-invalidation.bus}.
+ *
+ * @author Marco Ruiz
+ */
+public interface CacheInvalidationBus {
+
+	/**
+	 * Broadcasts the invalidation of some entities. Subscribers of this node are notified before returning; those of
+	 * other nodes, as soon as the implementation propagates it. Must be called after the change is committed
+	 *
+	 * @param type Type of the entities changed
+	 * @param ids Identifiers of the entities changed
+	 */
+	void publish(CacheInvalidation.Type type, Collection<Long> ids);
+
+	/**
+	 * Registers a subscriber to the invalidations published by any node (this one included)
+	 *
+	 * @param subscriber Subscriber to register
+	 */
+	void subscribe(Consumer<CacheInvalidation> subscriber);
+}
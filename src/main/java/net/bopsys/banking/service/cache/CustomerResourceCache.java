@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import net.bopsys.banking.model.resource.CustomerResource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of {@link CustomerResource}s by customer identifier, bounded in size and in time to live, and
+ * kept coherent across nodes through the {@link CacheInvalidationBus} like the {@link BankAccountResourceCache}.
+ * <p>
+ * Metrics are published as the {@code cache.*} meters tagged with {@code cache=customerResources}. The cache can be
+ * disabled per environment with {@code banking.customer-cache.enabled=false}.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+public class CustomerResourceCache {
+
+	static final String CACHE_NAME = "customerResources";
+
+	private final Cache<Long, CustomerResource> cache;
+	private final CacheInvalidationBus invalidationBus;
+
+	public CustomerResourceCache(
+			@Value("${banking.customer-cache.enabled:true}") boolean enabled,
+			@Value("${banking.customer-cache.maximum-size:100000}") long maximumSize,
+			@Value("${banking.customer-cache.time-to-live:5m}") Duration timeToLive,
+			CacheInvalidationBus invalidationBus,
+			MeterRegistry meterRegistry) {
+
+		this.cache = !enabled ? null : Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.recordStats()
+				.build();
+		this.invalidationBus = invalidationBus;
+
+		if (cache != null) {
+			CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+			invalidationBus.subscribe(this::onInvalidation);
+		}
+	}
+
+	/**
+	 * Retrieves the resource of a customer, loading it if it is not cached
+	 *
+	 * @param customerId Identifier of the customer of interest
+	 * @param loader Loader of the resource. Exceptions thrown by it are propagated and nothing is cached
+	 * @return {@link CustomerResource} of interest
+	 */
+	public CustomerResource get(Long customerId, Function<Long, CustomerResource> loader) {
+		return (cache == null || customerId == null) ? loader.apply(customerId) : cache.get(customerId, loader);
+	}
+
+	/**
+	 * Invalidates the resources of customers created or updated, on every node, along with the resources of the bank
+	 * accounts they own. Must be called after the change is committed
+	 *
+	 * @param customerIds Identifiers of the customers changed
+	 */
+	public void invalidate(Collection<Long> customerIds) {
+		invalidationBus.publish(CacheInvalidation.Type.CUSTOMER, customerIds);
+	}
+
+	private void onInvalidation(CacheInvalidation invalidation) {
+		if (invalidation.type() == CacheInvalidation.Type.CUSTOMER)
+			cache.invalidateAll(invalidation.ids());
+	}
+}
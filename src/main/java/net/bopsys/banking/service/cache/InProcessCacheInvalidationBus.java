@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link CacheInvalidationBus} connecting all the application contexts running in this JVM. Meant for single node
+ * deployments and tests: nodes running in separate JVMs never see each other's invalidations.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@ConditionalOnProperty(name = "banking.cache-invalidation.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+	private static final Set<InProcessCacheInvalidationBus> BUSES = ConcurrentHashMap.newKeySet();
+
+	public InProcessCacheInvalidationBus(MeterRegistry meterRegistry) {
+		super("in-process", meterRegistry);
+		BUSES.add(this);
+	}
+
+	@PreDestroy
+	void close() {
+		BUSES.remove(this);
+	}
+
+	@Override
+	protected void propagate(CacheInvalidation invalidation) {
+		for (InProcessCacheInvalidationBus bus : BUSES) {
+			if (bus != this)
+				bus.deliverRemote(invalidation);
+		}
+	}
+}
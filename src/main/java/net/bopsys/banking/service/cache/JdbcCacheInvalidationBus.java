@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import net.bopsys.banking.model.entity.CacheInvalidationMessage;
+import net.bopsys.banking.repository.CacheInvalidationMessageRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * {@link CacheInvalidationBus} using a table of the database the application nodes already share as its channel:
+ * every invalidation is inserted as a {@link CacheInvalidationMessage} row and every node polls the rows inserted by
+ * the others since its previous poll. Invalidations are thus delivered within a poll interval (plus the duration of
+ * the poll) of their publication.
+ * <p>
+ * Rows are polled by identifier, which is assigned when they are inserted but only becomes visible when they are
+ * committed. A row missing from the sequence may then still show up later, so every poll pages through the rows above
+ * the highest identifier seen and looks up again the ones missing below it, down to the lowest identifier not yet
+ * accounted for (the watermark). Missing rows are given up on (i.e. they are considered rolled back) after a while.
+ * Invalidations are idempotent, so delivering one more than once would be harmless, but it never happens.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@ConditionalOnProperty(name = "banking.cache-invalidation.bus", havingValue = "jdbc")
+public class JdbcCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+	private static final Duration MISSING_MESSAGE_TIMEOUT = Duration.ofSeconds(10);
+	// Rows fetched by findFirst1000ByIdGreaterThanOrderById
+	private static final int PAGE_SIZE = 1000;
+
+	private final CacheInvalidationMessageRepository messageRepository;
+	private final Duration retention;
+
+	// Only accessed by the polling thread
+	private long watermark;
+	private final TreeSet<Long> deliveredAboveWatermark = new TreeSet<>();
+	private final Map<Long, Instant> missingSince = new HashMap<>();
+
+	public JdbcCacheInvalidationBus(
+			CacheInvalidationMessageRepository messageRepository,
+			MeterRegistry meterRegistry,
+			@Value("${banking.cache-invalidation.retention:PT10M}") Duration retention) {
+
+		super("jdbc", meterRegistry);
+		this.messageRepository = messageRepository;
+		this.retention = retention;
+	}
+
+	@PostConstruct
+	void start() {
+		// Invalidations published before this node started are irrelevant: its caches start empty
+		watermark = messageRepository.findFirstByOrderByIdDesc()
+				.map(CacheInvalidationMessage::getId)
+				.orElse(0L);
+	}
+
+	@Override
+	protected void propagate(CacheInvalidation invalidation) {
+		List<CacheInvalidationMessage> messages = new ArrayList<>();
+		List<Long> ids = invalidation.ids();
+		for (int from = 0; from < ids.size(); from += CacheInvalidationMessage.MAX_IDS) {
+			String entityIds = ids.subList(from, Math.min(from + CacheInvalidationMessage.MAX_IDS, ids.size())).stream()
+					.map(String::valueOf)
+					.collect(Collectors.joining(","));
+			messages.add(new CacheInvalidationMessage(
+					invalidation.type().name(), entityIds, invalidation.originNodeId(), invalidation.publishedOn()));
+		}
+		messageRepository.saveAll(messages);
+	}
+
+	/**
+	 * Delivers the invalidations published by other nodes since the previous poll
+	 */
+	@Scheduled(fixedDelayString = "${banking.cache-invalidation.poll-interval:PT0.2S}")
+	public void poll() {
+		Instant now = Instant.now();
+
+		// Rows missing from the sequence which may have been committed since
+		if (!missingSince.isEmpty())
+			messageRepository.findAllById(missingSince.keySet()).forEach(this::accept);
+
+		// New rows are paged from the highest identifier seen, so that gaps below it do not hold them back
+		List<CacheInvalidationMessage> page;
+		do {
+			page = messageRepository.findFirst1000ByIdGreaterThanOrderById(highestIdSeen());
+			for (CacheInvalidationMessage message : page) {
+				for (long missingId = highestIdSeen() + 1; missingId < message.getId(); missingId++)
+					missingSince.put(missingId, now);
+				accept(message);
+			}
+		} while (page.size() == PAGE_SIZE);
+
+		advanceWatermark(now);
+	}
+
+	/**
+	 * Deletes the rows older than the retention period
+	 */
+	@Scheduled(initialDelayString = "${banking.cache-invalidation.retention:PT10M}",
+			fixedDelayString = "${banking.cache-invalidation.retention:PT10M}")
+	public void purge() {
+		messageRepository.deletePublishedBefore(Instant.now().minus(retention));
+	}
+
+	private void accept(CacheInvalidationMessage message) {
+		if (!deliveredAboveWatermark.add(message.getId()))
+			return;
+
+		missingSince.remove(message.getId());
+		if (!nodeId.equals(message.getOriginNodeId()))
+			deliverRemote(toInvalidation(message));
+	}
+
+	private long highestIdSeen() {
+		return deliveredAboveWatermark.isEmpty() ? watermark : deliveredAboveWatermark.last();
+	}
+
+	private void advanceWatermark(Instant now) {
+		long highestIdSeen = highestIdSeen();
+		while (watermark < highestIdSeen) {
+			long next = watermark + 1;
+			if (!deliveredAboveWatermark.remove(next)) {
+				Instant since = missingSince.computeIfAbsent(next, id -> now);
+				if (now.isBefore(since.plus(MISSING_MESSAGE_TIMEOUT)))
+					return;
+				missingSince.remove(next);
+			}
+			watermark = next;
+		}
+	}
+
+	private static CacheInvalidation toInvalidation(CacheInvalidationMessage message) {
+		List<Long> ids = Arrays.stream(message.getEntityIds().split(","))
+				.map(Long::valueOf)
+				.toList();
+		return new CacheInvalidation(CacheInvalidation.Type.valueOf(message.getType()), ids,
+				message.getOriginNodeId(), message.getPublishedOn());
+	}
+}
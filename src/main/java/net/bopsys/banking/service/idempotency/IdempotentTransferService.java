@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import net.bopsys.banking.exception.IdempotencyKeyInUseException;
+import net.bopsys.banking.exception.InvalidIdempotencyKeyException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.TransferIdempotencyKey;
+import net.bopsys.banking.model.entity.TransferOrder;
+import net.bopsys.banking.repository.TransferIdempotencyKeyRepository;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Creates transfer orders at most once per idempotency key, so that clients can safely retry a transfer whose
+ * outcome they missed (e.g. on a timeout). A repeated key is answered with the transfer order created the first time,
+ * without running the transfer again:
+ * <ul>
+ *     <li>From memory, for the keys used on this node within the last {@code banking.idempotency.window}, up to
+ *     {@code banking.idempotency.maximum-size} of them. Concurrent requests with the same key wait for the first one
+ *     and share its outcome, rejections included</li>
+ *     <li>From the {@link TransferIdempotencyKey} table otherwise, which holds the keys of every node for
+ *     {@code banking.idempotency.retention}. The key is inserted in the transaction of the transfer order, so a key
+ *     raced by another node rolls the transfer back and is answered with the transfer order of the winner</li>
+ * </ul>
+ * Reusing a key for a different transfer is rejected. Engines acknowledging transfers before persisting them
+ * ({@code journal} and {@code ledger}) cannot roll a transfer back, so they claim the key in the table before running
+ * the transfer instead, record the transfer order once it is acknowledged and release the key if it is rejected. A key
+ * claimed by a transfer whose outcome is not known yet (in progress on another node, or interrupted by a crash) is
+ * answered with a conflict rather than running the transfer again.
+ *
+ * @author Marco Ruiz
+ */
+@Service
+public class IdempotentTransferService {
+
+	private final BankingService bankingService;
+	private final TransferIdempotencyKeyRepository keyRepository;
+	private final AsyncCache<String, IdempotentTransfer> recentKeys;
+	private final Duration retention;
+	private final boolean claimsKeysBeforeTransfers;
+
+	private final Counter memoryReplays;
+	private final Counter databaseReplays;
+
+	public IdempotentTransferService(
+			BankingService bankingService,
+			TransferIdempotencyKeyRepository keyRepository,
+			MeterRegistry meterRegistry,
+			@Value("${banking.idempotency.window:10m}") Duration window,
+			@Value("${banking.idempotency.maximum-size:100000}") long maximumSize,
+			@Value("${banking.idempotency.retention:P1D}") Duration retention,
+			@Value("${banking.engine:jpa}") String engine) {
+
+		this.bankingService = bankingService;
+		this.keyRepository = keyRepository;
+		this.recentKeys = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(window)
+				.buildAsync();
+		this.retention = retention;
+		this.claimsKeysBeforeTransfers = !"jpa".equals(engine);
+
+		this.memoryReplays = Counter.builder("banking.transfer.idempotent-replays")
+				.description("Repeated transfer requests answered without running the transfer again")
+				.tag("source", "memory")
+				.register(meterRegistry);
+		this.databaseReplays = Counter.builder("banking.transfer.idempotent-replays")
+				.description("Repeated transfer requests answered without running the transfer again")
+				.tag("source", "database")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Creates a transfer order, unless one was already created with the same idempotency key
+	 *
+	 * @param accountFromId Identifier of the bank account from which funds are going to be transferred
+	 * @param dto Details of the transfer
+	 * @param idempotencyKey Key identifying the transfer across retries, if any
+	 * @return Identifier of the transfer order created with the key, now or by an earlier request
+	 */
+	public UUID createTransferOrder(Long accountFromId, TransferOrderDto dto, String idempotencyKey) {
+		if (idempotencyKey == null)
+			return bankingService.createTransferOrder(accountFromId, dto).getId();
+
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > TransferIdempotencyKey.MAX_KEY_LENGTH)
+			throw new InvalidIdempotencyKeyException(String.format(
+					"keys must have between 1 and %d characters", TransferIdempotencyKey.MAX_KEY_LENGTH));
+
+		IdempotentTransfer request = new IdempotentTransfer(
+				accountFromId, dto.getAccountToId(), dto.getTransferAmountInCents(), null);
+
+		CompletableFuture<IdempotentTransfer> created = new CompletableFuture<>();
+		CompletableFuture<IdempotentTransfer> previous = recentKeys.asMap().putIfAbsent(idempotencyKey, created);
+		if (previous != null) {
+			memoryReplays.increment();
+			return replay(idempotencyKey, join(previous), request);
+		}
+
+		try {
+			IdempotentTransfer transfer = createOnce(idempotencyKey, dto, request);
+			created.complete(transfer);
+			return replay(idempotencyKey, transfer, request);
+		} catch (RuntimeException e) {
+			// Failed futures are dropped from the cache, so the key can be retried
+			created.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Deletes the keys older than the retention period
+	 */
+	@Scheduled(initialDelayString = "${banking.idempotency.purge-interval:PT1H}",
+			fixedDelayString = "${banking.idempotency.purge-interval:PT1H}")
+	public void purge() {
+		keyRepository.deleteCreatedBefore(Instant.now().minus(retention));
+	}
+
+	private IdempotentTransfer createOnce(String idempotencyKey, TransferOrderDto dto, IdempotentTransfer request) {
+		Optional<TransferIdempotencyKey> persistedKey = keyRepository.findById(idempotencyKey);
+		if (persistedKey.isPresent())
+			return replayPersisted(persistedKey.get());
+
+		if (claimsKeysBeforeTransfers)
+			return claimThenCreate(idempotencyKey, dto, request);
+
+		try {
+			TransferOrder transfer = bankingService.createTransferOrder(request.accountFromId(), dto, created ->
+					keyRepository.saveAndFlush(new TransferIdempotencyKey(idempotencyKey, request.accountFromId(),
+							request.accountToId(), request.amountInCents(), created.getId())));
+			return request.withTransferOrderId(transfer.getId());
+		} catch (DataIntegrityViolationException e) {
+			// Taken meanwhile by a request on another node, which rolled this transfer back
+			return replayPersisted(keyRepository.findById(idempotencyKey).orElseThrow(() -> e));
+		}
+	}
+
+	private IdempotentTransfer claimThenCreate(String idempotencyKey, TransferOrderDto dto, IdempotentTransfer request) {
+		try {
+			keyRepository.saveAndFlush(new TransferIdempotencyKey(idempotencyKey, request.accountFromId(),
+					request.accountToId(), request.amountInCents(), null));
+		} catch (DataIntegrityViolationException e) {
+			// Claimed meanwhile by a request on another node
+			return replayPersisted(keyRepository.findById(idempotencyKey).orElseThrow(() -> e));
+		}
+
+		TransferOrder transfer;
+		try {
+			transfer = bankingService.createTransferOrder(request.accountFromId(), dto);
+		} catch (RuntimeException e) {
+			// Not transferred, so the key is released to be retried
+			keyRepository.deleteById(idempotencyKey);
+			throw e;
+		}
+		keyRepository.recordTransferOrder(idempotencyKey, transfer.getId());
+		return request.withTransferOrderId(transfer.getId());
+	}
+
+	private IdempotentTransfer replayPersisted(TransferIdempotencyKey persistedKey) {
+		if (persistedKey.getTransferOrderId() == null)
+			throw new IdempotencyKeyInUseException(persistedKey.getKey());
+
+		databaseReplays.increment();
+		return IdempotentTransfer.of(persistedKey);
+	}
+
+	private static UUID replay(String idempotencyKey, IdempotentTransfer transfer, IdempotentTransfer request) {
+		if (!transfer.isFor(request))
+			throw new InvalidIdempotencyKeyException(String.format(
+					"'%s' was already used for a different transfer", idempotencyKey));
+
+		return transfer.transferOrderId();
+	}
+
+	private static IdempotentTransfer join(CompletableFuture<IdempotentTransfer> transfer) {
+		try {
+			return transfer.join();
+		} catch (CompletionException e) {
+			throw (e.getCause() instanceof RuntimeException cause) ? cause : e;
+		}
+	}
+
+	/**
+	 * Transfer requested with an idempotency key, along with the transfer order it created
+	 */
+	record IdempotentTransfer(Long accountFromId, Long accountToId, long amountInCents, UUID transferOrderId) {
+
+		static IdempotentTransfer of(TransferIdempotencyKey key) {
+			return new IdempotentTransfer(
+					key.getAccountFromId(), key.getAccountToId(), key.getAmountInCents(), key.getTransferOrderId());
+		}
+
+		IdempotentTransfer withTransferOrderId(UUID transferOrderId) {
+			return new IdempotentTransfer(accountFromId, accountToId, amountInCents, transferOrderId);
+		}
+
+		boolean isFor(IdempotentTransfer request) {
+			return Objects.equals(accountFromId, request.accountFromId())
+					&& Objects.equals(accountToId, request.accountToId())
+					&& amountInCents == request.amountInCents();
+		}
+	}
+}
@@ -17,14 +17,19 @@
 package net.bopsys.banking.service.interfaces;
 
 import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.InvalidTransferBatchException;
 import net.bopsys.banking.model.dto.BankAccountCreateDto;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
 import net.bopsys.banking.model.dto.TransferOrderDto;
 import net.bopsys.banking.model.entity.BankAccount;
 import net.bopsys.banking.model.entity.TransferOrder;
 import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
 import net.bopsys.banking.model.resource.TransferOrderResource;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Marco Ruiz
@@ -34,6 +39,8 @@ public interface BankingService {
 	String ACCOUNT_ROLE_DEBIT = "debit";
 	String ACCOUNT_ROLE_CREDIT = "credit";
 
+	int MAX_TRANSFER_BATCH_SIZE = 1000;
+
 	/**
 	 * Persists a new bank account record
 	 *
@@ -71,9 +78,39 @@ public interface BankingService {
 	 */
 	TransferOrder createTransferOrder(Long accountFromId, TransferOrderDto dto);
 
+	/**
+	 * Same as {@link #createTransferOrder(Long, TransferOrderDto)}, writing something else along with the transfer
+	 * order: in its transaction, for engines persisting transfer orders as they are created, so that either both are
+	 * committed or neither is; right after it is acknowledged otherwise
+	 *
+	 * @param accountFromId Identifier of the bank account from which funds are going to be transferred
+	 * @param dto Details of the transfer
+	 * @param alongWith Writes to perform along with the transfer order created. An exception thrown by it rejects the
+	 * transfer, where done in its transaction
+	 * @return {@link TransferOrder} persisted
+	 */
+	default TransferOrder createTransferOrder(Long accountFromId, TransferOrderDto dto, Consumer<TransferOrder> alongWith) {
+		TransferOrder transfer = createTransferOrder(accountFromId, dto);
+		alongWith.accept(transfer);
+		return transfer;
+	}
+
+	/**
+	 * Persists a batch of transfer orders in a single transaction, updating the balance of every affected account once.
+	 * Items are applied in order; an item that cannot be applied (e.g. due to insufficient balance) is reported as
+	 * failed without aborting the rest of the batch. Batches of more than {@link #MAX_TRANSFER_BATCH_SIZE} items are
+	 * rejected as a whole, so that no single transaction locks too many accounts for too long.
+	 *
+	 * @param dtos Details of the transfers, in the order they must be applied
+	 * @return {@link TransferOrderBatchResource} reporting the outcome of every item
+	 * @throws InvalidTransferBatchException if the batch has more than {@link #MAX_TRANSFER_BATCH_SIZE} items
+	 */
+	TransferOrderBatchResource createTransferOrders(List<TransferOrderBatchItemDto> dtos);
+
 	/**
 	 * Computes the live balance of an account using its {@link BankAccount#getInitialBalanceInCents() initial balance}
-	 * and its {@link #getTransferHistory(Long) transfer history}
+	 * (or its latest balance checkpoint, if any) and its {@link #getTransferHistory(Long) transfer history} (or the
+	 * part of it created after that checkpoint), aggregated by the database
 	 *
 	 * @param accountId Identifier of the bank account of interest
 	 * @return Computed live balance
@@ -89,4 +126,26 @@ public interface BankingService {
 	 * @return List of {@link TransferOrderResource} associated with the account of interest
 	 */
 	List<TransferOrderResource> getTransferHistory(Long accountId);
+
+	/**
+	 * Retrieves a page of the transfer order records where an account of interest has participated, ordered by
+	 * creation time. Pages are addressed by cursor rather than by offset, so they remain stable under concurrent
+	 * inserts and cost the same to retrieve no matter how deep in the history they are.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @param afterCursor {@link TransferOrderPageResource#getNextCursor() Cursor} returned with the previous page, or
+	 *                    null to retrieve the first page
+	 * @param limit Maximum number of records in the page
+	 * @return {@link TransferOrderPageResource} with the records of the page and the cursor of the next one
+	 */
+	TransferOrderPageResource getTransferHistoryPage(Long accountId, String afterCursor, int limit);
+
+	/**
+	 * Streams all transfer order records where an account of interest has participated, ordered by creation time, as
+	 * they are read from the database, without ever holding the whole history in memory.
+	 *
+	 * @param accountId Identifier of the bank account of interest
+	 * @param consumer Consumer of every {@link TransferOrderResource}, invoked in order
+	 */
+	void streamTransferHistory(Long accountId, Consumer<TransferOrderResource> consumer);
 }
@@ -20,8 +20,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import net.bopsys.banking.model.dto.CustomerDto;
 import net.bopsys.banking.model.resource.CustomerResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Marco Ruiz
@@ -47,6 +51,18 @@ public interface CustomerService {
 		return dtos.stream().map(this::createCustomer).toList();
 	}
 
+	/**
+	 * Persists the customer records of a JSON array read incrementally from a stream, in chunks committed one after
+	 * the other. Records that cannot be persisted are reported and skipped rather than failing the whole import
+	 *
+	 * @param customersJson Stream of the JSON array of customer records to persist
+	 * @param progressListener Listener notified with the report of the import so far after every chunk committed
+	 * @return {@link ImportReportResource} of the import
+	 * @throws IOException If the stream cannot be read
+	 */
+	ImportReportResource importCustomers(InputStream customersJson, Consumer<ImportReportResource> progressListener)
+			throws IOException;
+
 	/**
 	 * Persist a customer record corresponding to the resource described by the {@link CustomerDto} passed as parameter
 	 *
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the computation of the live balance of a bank account out of its transfer history.
+ *
+ * @author Marco Ruiz
+ */
+@Name(BalanceComputationEvent.NAME)
+@Label("Balance Computation")
+@Category({"Banking", "Balances"})
+@Description("Computation of the balance of a bank account out of its transfers")
+@StackTrace(false)
+@Threshold("10 ms")
+public class BalanceComputationEvent extends Event {
+
+	public static final String NAME = "net.bopsys.banking.BalanceComputation";
+
+	@Label("Account")
+	private long accountId;
+
+	@Label("From Checkpoint")
+	@Description("Whether only the transfers after the latest balance checkpoint were aggregated")
+	private boolean fromCheckpoint;
+
+	@Label("Balance In Cents")
+	private long balanceInCents;
+
+	/**
+	 * Ends the event and commits it, if it has to be recorded
+	 */
+	public void finish(Long accountId, boolean fromCheckpoint, long balanceInCents) {
+		end();
+		if (!shouldCommit())
+			return;
+
+		this.accountId = (accountId != null) ? accountId : 0;
+		this.fromCheckpoint = fromCheckpoint;
+		this.balanceInCents = balanceInCents;
+		commit();
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import net.bopsys.banking.model.resource.FlightRecordingResource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts and stops, at runtime, a flight recording of the banking events slower than a threshold, so that a slow
+ * node can be profiled without being restarted. The recording is kept in a bounded ring of
+ * {@code banking.jfr.max-age} and {@code banking.jfr.max-size}, and dumped to {@code banking.jfr.directory} once
+ * stopped, ready to be opened with JDK Mission Control or {@code jfr print}.
+ * <p>
+ * Only one recording runs at a time: starting a new one stops the one running, if any, without dumping it.
+ *
+ * @author Marco Ruiz
+ */
+@Slf4j
+@Component
+public class BankingFlightRecorder {
+
+	public static final List<Class<? extends Event>> EVENT_TYPES = List.of(
+			TransferEvent.class, BalanceComputationEvent.class, TransferHistoryEvent.class, CustomerCreationEvent.class);
+
+	private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss")
+			.withZone(ZoneOffset.UTC);
+
+	private final Duration maxAge;
+	private final DataSize maxSize;
+	private final Path directory;
+
+	private Recording recording;
+	private Duration threshold;
+	private Instant startedOn;
+
+	public BankingFlightRecorder(
+			@Value("${banking.jfr.max-age:30m}") Duration maxAge,
+			@Value("${banking.jfr.max-size:64MB}") DataSize maxSize,
+			@Value("${banking.jfr.directory:${java.io.tmpdir}}") Path directory) {
+
+		this.maxAge = maxAge;
+		this.maxSize = maxSize;
+		this.directory = directory;
+	}
+
+	/**
+	 * Starts recording the banking events
+	 *
+	 * @param threshold Minimum duration of the events to record
+	 * @return {@link FlightRecordingResource} of the recording started
+	 */
+	public synchronized FlightRecordingResource start(Duration threshold) {
+		if (recording != null)
+			recording.close();
+
+		recording = new Recording();
+		recording.setName("banking");
+		recording.setMaxAge(maxAge);
+		recording.setMaxSize(maxSize.toBytes());
+		recording.setToDisk(true);
+		for (Class<? extends Event> eventType : EVENT_TYPES)
+			recording.enable(eventType).withThreshold(threshold);
+		recording.start();
+
+		this.threshold = threshold;
+		this.startedOn = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		log.info("Flight recording of banking events slower than {} started", threshold);
+		return status();
+	}
+
+	/**
+	 * Stops the recording running, if any, and dumps it to a file
+	 *
+	 * @return {@link FlightRecordingResource} of the recording stopped, with the file it was dumped to
+	 */
+	public synchronized FlightRecordingResource stop() {
+		if (recording == null)
+			return status();
+
+		try {
+			Files.createDirectories(directory);
+			Path file = directory.resolve("banking-" + FILE_TIMESTAMP.format(startedOn) + ".jfr");
+			recording.stop();
+			recording.dump(file);
+			log.info("Flight recording of banking events dumped to {}", file);
+
+			return status().toBuilder()
+					.recording(false)
+					.file(file.toAbsolutePath().toString())
+					.build();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			recording.close();
+			recording = null;
+		}
+	}
+
+	public synchronized FlightRecordingResource status() {
+		return FlightRecordingResource.builder()
+				.recording(recording != null)
+				.threshold(threshold)
+				.startedOn(startedOn)
+				.build();
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (recording != null) {
+			recording.close();
+			recording = null;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the creation of customers in bulk, either as a batch or imported.
+ *
+ * @author Marco Ruiz
+ */
+@Name(CustomerCreationEvent.NAME)
+@Label("Customer Creation")
+@Category({"Banking", "Customers"})
+@Description("Creation of customers in bulk")
+@StackTrace(false)
+@Threshold("10 ms")
+public class CustomerCreationEvent extends Event {
+
+	public static final String NAME = "net.bopsys.banking.CustomerCreation";
+
+	public static final String SOURCE_BATCH = "batch";
+	public static final String SOURCE_IMPORT = "import";
+
+	@Label("Source")
+	private String source;
+
+	@Label("Rows Processed")
+	private long rowsProcessed;
+
+	@Label("Rows Saved")
+	private long rowsSaved;
+
+	@Label("Rows Failed")
+	private long rowsFailed;
+
+	/**
+	 * Ends the event and commits it, if it has to be recorded
+	 */
+	public void finish(String source, long rowsProcessed, long rowsSaved, long rowsFailed) {
+		end();
+		if (!shouldCommit())
+			return;
+
+		this.source = source;
+		this.rowsProcessed = rowsProcessed;
+		this.rowsSaved = rowsSaved;
+		this.rowsFailed = rowsFailed;
+		commit();
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import net.bopsys.banking.model.resource.FlightRecordingResource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Actuator endpoint turning the flight recording of the banking events on and off at runtime:
+ * {@code POST /actuator/flightrecording} (optionally with a {@code threshold}, e.g. {@code {"threshold": "50ms"}})
+ * starts it, {@code DELETE} stops it and dumps it to a file, and {@code GET} tells whether one is running.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+	private final BankingFlightRecorder flightRecorder;
+	private final Duration defaultThreshold;
+
+	public FlightRecordingEndpoint(
+			BankingFlightRecorder flightRecorder,
+			@Value("${banking.jfr.threshold:10ms}") Duration defaultThreshold) {
+
+		this.flightRecorder = flightRecorder;
+		this.defaultThreshold = defaultThreshold;
+	}
+
+	@ReadOperation
+	public FlightRecordingResource status() {
+		return flightRecorder.status();
+	}
+
+	@WriteOperation
+	public FlightRecordingResource start(@Nullable Duration threshold) {
+		return flightRecorder.start((threshold != null) ? threshold : defaultThreshold);
+	}
+
+	@DeleteOperation
+	public FlightRecordingResource stop() {
+		return flightRecorder.stop();
+	}
+}
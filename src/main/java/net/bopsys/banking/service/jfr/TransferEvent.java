@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import net.bopsys.banking.model.entity.TransferOrder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the execution of a transfer, from its validation to its commit, whether it was applied or
+ * rejected.
+ *
+ * @author Marco Ruiz
+ */
+@Name(TransferEvent.NAME)
+@Label("Transfer")
+@Category({"Banking", "Transfers"})
+@Description("Execution of a transfer between two bank accounts")
+@StackTrace(false)
+@Threshold("10 ms")
+public class TransferEvent extends Event {
+
+	public static final String NAME = "net.bopsys.banking.Transfer";
+
+	@Label("Account From")
+	private long accountFromId;
+
+	@Label("Account To")
+	private long accountToId;
+
+	@Label("Amount In Cents")
+	private long amountInCents;
+
+	@Label("Transfer Order")
+	private String transferOrderId;
+
+	@Label("Rejection")
+	@Description("Exception the transfer was rejected with, if any")
+	private String rejection;
+
+	/**
+	 * Ends the event and commits it, if it has to be recorded
+	 *
+	 * @param transfer Transfer order applied, if any
+	 * @param rejection Exception the transfer was rejected with, if any
+	 */
+	public void finish(Long accountFromId, Long accountToId, long amountInCents, TransferOrder transfer,
+			RuntimeException rejection) {
+
+		end();
+		if (!shouldCommit())
+			return;
+
+		this.accountFromId = (accountFromId != null) ? accountFromId : 0;
+		this.accountToId = (accountToId != null) ? accountToId : 0;
+		this.amountInCents = amountInCents;
+		this.transferOrderId = (transfer != null && transfer.getId() != null) ? transfer.getId().toString() : null;
+		this.rejection = (rejection != null) ? rejection.getClass().getSimpleName() : null;
+		commit();
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the retrieval of the transfer history of a bank account: as a whole, a page of it, or
+ * streamed.
+ *
+ * @author Marco Ruiz
+ */
+@Name(TransferHistoryEvent.NAME)
+@Label("Transfer History")
+@Category({"Banking", "Transfers"})
+@Description("Retrieval of the transfer history of a bank account")
+@StackTrace(false)
+@Threshold("10 ms")
+public class TransferHistoryEvent extends Event {
+
+	public static final String NAME = "net.bopsys.banking.TransferHistory";
+
+	public static final String MODE_LIST = "list";
+	public static final String MODE_PAGE = "page";
+	public static final String MODE_STREAM = "stream";
+
+	@Label("Account")
+	private long accountId;
+
+	@Label("Mode")
+	@Description("Whether the history was retrieved as a whole, a page of it, or streamed")
+	private String mode;
+
+	@Label("Limit")
+	@Description("Maximum number of transfers of a page")
+	private int limit;
+
+	@Label("Rows")
+	private long rows;
+
+	/**
+	 * Ends the event and commits it, if it has to be recorded
+	 */
+	public void finish(Long accountId, String mode, int limit, long rows) {
+		end();
+		if (!shouldCommit())
+			return;
+
+		this.accountId = (accountId != null) ? accountId : 0;
+		this.mode = mode;
+		this.limit = limit;
+		this.rows = rows;
+		commit();
+	}
+}
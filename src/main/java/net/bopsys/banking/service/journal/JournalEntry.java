@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Transfer accepted by the {@link JournaledBankingService} as recorded in the {@link TransferJournal}.
+ * <p>
+ * Entries are stored as fixed size binary records followed by their CRC32 checksum, so that a record torn by a crash
+ * in the middle of a write is detected (and discarded) on replay.
+ *
+ * @param sequence Position of the entry in the journal, assigned when it is written
+ * @param id Identifier of the transfer order the entry is persisted as
+ * @param accountFromId Identifier of the bank account debited
+ * @param accountToId Identifier of the bank account credited
+ * @param amountInCents Amount transferred
+ * @param requestedOn Time at which the transfer was accepted
+ * @author Marco Ruiz
+ */
+public record JournalEntry(
+		long sequence, UUID id, long accountFromId, long accountToId, long amountInCents, Instant requestedOn) {
+
+	static final int SIZE = 7 * Long.BYTES + Integer.BYTES;
+
+	JournalEntry withSequence(long sequence) {
+		return new JournalEntry(sequence, id, accountFromId, accountToId, amountInCents, requestedOn);
+	}
+
+	void writeTo(ByteBuffer buffer) {
+		int start = buffer.position();
+		buffer.putLong(sequence)
+				.putLong(id.getMostSignificantBits())
+				.putLong(id.getLeastSignificantBits())
+				.putLong(accountFromId)
+				.putLong(accountToId)
+				.putLong(amountInCents)
+				.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, requestedOn));
+		buffer.putInt(checksum(buffer, start));
+	}
+
+	/**
+	 * Decodes an entry
+	 *
+	 * @param buffer Buffer positioned at the beginning of a record, with at least {@link #SIZE} bytes remaining
+	 * @return Entry decoded, or null if the record is corrupt
+	 */
+	static JournalEntry readFrom(ByteBuffer buffer) {
+		int start = buffer.position();
+		int expectedChecksum = checksum(buffer, start);
+
+		JournalEntry entry = new JournalEntry(
+				buffer.getLong(),
+				new UUID(buffer.getLong(), buffer.getLong()),
+				buffer.getLong(),
+				buffer.getLong(),
+				buffer.getLong(),
+				Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS));
+
+		return (buffer.getInt() == expectedChecksum) ? entry : null;
+	}
+
+	private static int checksum(ByteBuffer buffer, int start) {
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate().position(start).limit(start + SIZE - Integer.BYTES));
+		return (int) crc.getValue();
+	}
+}
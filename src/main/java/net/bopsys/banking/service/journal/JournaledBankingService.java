@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.InvalidTransferBatchException;
+import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
+import net.bopsys.banking.exception.TransferAmountTooLowException;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.BankAccount;
+import net.bopsys.banking.model.entity.TimeOrderedUuidGenerator;
+import net.bopsys.banking.model.entity.TransferOrder;
+import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchItemResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.repository.BankAccountRepository;
+import net.bopsys.banking.service.BankingServiceImpl;
+import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.transfer.AccountLockManager;
+import net.bopsys.banking.service.transfer.TransferMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * High throughput {@link BankingService} (enabled with {@code banking.engine=journal}) which takes the database out of
+ * the critical path of transfers.
+ * <p>
+ * Transfers are validated against balances held in memory and acknowledged as soon as they are made durable in the
+ * local {@link TransferJournal}, which amortizes its fsyncs over all the transfers accepted concurrently. The
+ * {@link WriteBehindTransferStore} then persists them to the database in large batches, and replays the ones not yet
+ * persisted on startup (i.e. after a crash) before any transfer is accepted.
+ * <p>
+ * In-memory balances are authoritative, so all the transfers involving an account must be accepted by the same node.
+ * Everything else is delegated to {@link BankingServiceImpl}, which only sees transfers once they are persisted: bank
+ * account resources report the in-memory balance, but transfer histories and computed balances lag behind by up to
+ * the flush interval.
+ *
+ * @author Marco Ruiz
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.engine", havingValue = "journal")
+public class JournaledBankingService implements BankingService {
+
+	private final BankingServiceImpl delegate;
+	private final BankAccountRepository bankAccountRepository;
+	private final WriteBehindTransferStore transferStore;
+	private final TransferMetrics transferMetrics;
+	private final AccountLockManager balanceLocks;
+	private final Map<Long, BankAccount> accounts = new ConcurrentHashMap<>();
+
+	public JournaledBankingService(
+			BankingServiceImpl delegate,
+			BankAccountRepository bankAccountRepository,
+			WriteBehindTransferStore transferStore,
+			TransferMetrics transferMetrics,
+			@Value("${banking.transfer.lock-stripes:1024}") int lockStripes) {
+
+		this.delegate = delegate;
+		this.bankAccountRepository = bankAccountRepository;
+		this.transferStore = transferStore;
+		this.transferMetrics = transferMetrics;
+		this.balanceLocks = new AccountLockManager(lockStripes);
+	}
+
+	@Override
+	public BankAccountResource createAccount(Long customerId, long initialBalanceInCents) {
+		return delegate.createAccount(customerId, initialBalanceInCents);
+	}
+
+	@Override
+	public BankAccountResource getBankAccount(Long accountId) throws BankAccountNotFoundException {
+		BankAccountResource resource = delegate.getBankAccount(accountId);
+		BankAccount account = accounts.get(accountId);
+		return (account == null) ? resource : resource.toBuilder().balanceInCents(account.getBalanceInCents()).build();
+	}
+
+	@Override
+	public TransferOrder createTransferOrder(Long accountFromId, TransferOrderDto dto) {
+		Accepted accepted;
+		try {
+			accepted = accept(accountFromId, dto.getAccountToId(), dto.getTransferAmountInCents());
+		} catch (SameBankAccountTransferNotAllowedException | TransferAmountTooLowException |
+				 BankAccountNotFoundException | InsufficientBalanceForTransferException e) {
+			transferMetrics.rejected(e);
+			throw e;
+		}
+		awaitDurable(accepted.durable());
+		return accepted.transfer();
+	}
+
+	@Override
+	public TransferOrderBatchResource createTransferOrders(List<TransferOrderBatchItemDto> dtos) {
+		if (dtos.size() > MAX_TRANSFER_BATCH_SIZE)
+			throw new InvalidTransferBatchException(String.format(
+					"batches must have at most %d items (items provided: %d)", MAX_TRANSFER_BATCH_SIZE, dtos.size()));
+
+		// Every item is accepted (or rejected) in order before waiting for any of them, so that all of them are made
+		// durable by the same group commit
+		Accepted[] acceptedByIndex = new Accepted[dtos.size()];
+		String[] errorsByIndex = new String[dtos.size()];
+		for (int index = 0; index < dtos.size(); index++) {
+			TransferOrderBatchItemDto dto = dtos.get(index);
+			try {
+				acceptedByIndex[index] = accept(dto.getAccountFromId(), dto.getAccountToId(), dto.getTransferAmountInCents());
+			} catch (SameBankAccountTransferNotAllowedException | TransferAmountTooLowException |
+					 BankAccountNotFoundException | InsufficientBalanceForTransferException e) {
+				transferMetrics.rejected(e);
+				errorsByIndex[index] = e.getMessage();
+			}
+		}
+
+		int succeeded = 0;
+		List<TransferOrderBatchItemResource> items = new ArrayList<>(dtos.size());
+		for (int index = 0; index < dtos.size(); index++) {
+			Accepted accepted = acceptedByIndex[index];
+			if (accepted != null) {
+				awaitDurable(accepted.durable());
+				succeeded++;
+			}
+			items.add(TransferOrderBatchItemResource.builder()
+					.index(index)
+					.succeeded(accepted != null)
+					.transferOrderId(accepted != null ? accepted.transfer().getId() : null)
+					.error(errorsByIndex[index])
+					.build());
+		}
+
+		return TransferOrderBatchResource.builder()
+				.succeeded(succeeded)
+				.failed(dtos.size() - succeeded)
+				.items(items)
+				.build();
+	}
+
+	@Override
+	public long computeBalanceInCents(Long accountId) {
+		return delegate.computeBalanceInCents(accountId);
+	}
+
+	@Override
+	public List<TransferOrderResource> getTransferHistory(Long accountId) {
+		return delegate.getTransferHistory(accountId);
+	}
+
+	@Override
+	public TransferOrderPageResource getTransferHistoryPage(Long accountId, String afterCursor, int limit) {
+		return delegate.getTransferHistoryPage(accountId, afterCursor, limit);
+	}
+
+	@Override
+	public void streamTransferHistory(Long accountId, Consumer<TransferOrderResource> consumer) {
+		delegate.streamTransferHistory(accountId, consumer);
+	}
+
+	private Accepted accept(Long accountFromId, Long accountToId, long transferAmountInCents) {
+		if (Objects.equals(accountFromId, accountToId))
+			throw new SameBankAccountTransferNotAllowedException(accountFromId);
+
+		if (transferAmountInCents <= 0)
+			throw new TransferAmountTooLowException(transferAmountInCents);
+
+		// Appending while holding the locks keeps the journal in the order the balances were validated in
+		return balanceLocks.withLocks(Arrays.asList(accountFromId, accountToId), () -> {
+			BankAccount accountFrom = findAccount(accountFromId, ACCOUNT_ROLE_DEBIT);
+			BankAccount accountTo = findAccount(accountToId, ACCOUNT_ROLE_CREDIT);
+
+			accountFrom.addCentsToBalance(transferAmountInCents * -1);
+			accountTo.addCentsToBalance(transferAmountInCents);
+
+			TransferOrder transfer = new TransferOrder(accountFrom, accountTo, transferAmountInCents);
+			transfer.setId(TimeOrderedUuidGenerator.nextUuid());
+
+			JournalEntry entry = new JournalEntry(0, transfer.getId(), accountFromId, accountToId,
+					transferAmountInCents, transfer.getCreatedOn());
+			return new Accepted(transfer, transferStore.append(entry));
+		});
+	}
+
+	// Must be called while holding the lock of the account
+	private BankAccount findAccount(Long accountId, String accountRole) {
+		if (accountId == null)
+			throw new BankAccountNotFoundException(null, accountRole);
+
+		BankAccount account = accounts.get(accountId);
+		if (account == null) {
+			account = bankAccountRepository.findBankAccount(accountId, accountRole);
+			accounts.put(accountId, account);
+		}
+		return account;
+	}
+
+	private void awaitDurable(CompletableFuture<JournalEntry> durable) {
+		try {
+			durable.join();
+		} catch (CompletionException e) {
+			// Whether the transfer reached the journal is unknown, and so are the in-memory balances from now on. The
+			// journal rejects any further transfer; restarting the node recovers the state from it
+			throw (e.getCause() instanceof RuntimeException cause) ? cause : e;
+		}
+	}
+
+	private record Accepted(TransferOrder transfer, CompletableFuture<JournalEntry> durable) {}
+}
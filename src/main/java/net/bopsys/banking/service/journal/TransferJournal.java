@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only file where accepted transfers are made durable before they are acknowledged.
+ * <p>
+ * Appends are handed over to a single writer thread, which writes every append queued since its previous write with
+ * one system call and makes them durable with one fsync ("group commit"). The cost of an fsync is then shared by all
+ * the transfers accepted while the previous one was in progress, so throughput grows with concurrency instead of being
+ * capped by the latency of the disk.
+ * <p>
+ * The journal only needs to hold the entries not yet persisted to the database. Once its file grows over its maximum
+ * size, it is truncated if they all are; otherwise, as under sustained load, the file is sealed as a segment (named
+ * after the sequence of its last entry) and appends go on in a new one. Sealed segments are deleted as soon as all
+ * their entries are persisted, so the journal stays bounded by how far the database lags behind. After an I/O error it
+ * is not known which of the entries in flight reached the disk, so the journal stops accepting appends; the state is
+ * recovered on restart by {@link #readAll() replaying} it.
+ *
+ * @author Marco Ruiz
+ */
+public class TransferJournal implements Closeable {
+
+	private final Path path;
+	private final int maxGroupSize;
+	private final long maxSizeInBytes;
+	private final BlockingQueue<PendingAppend> pendingAppends = new LinkedBlockingQueue<>();
+
+	private Thread writer;
+	private volatile boolean running;
+	private volatile IOException failure;
+	private volatile long lastPersistedSequence;
+
+	// Replaced by the writer thread when the file is sealed as a segment
+	private FileChannel channel;
+
+	// Only accessed by the writer thread
+	private long lastSequence;
+	private final Deque<SealedSegment> sealedSegments = new ArrayDeque<>();
+
+	public TransferJournal(Path path, int maxGroupSize, long maxSizeInBytes) throws IOException {
+		this(path, open(path), maxGroupSize, maxSizeInBytes);
+	}
+
+	TransferJournal(Path path, FileChannel channel, int maxGroupSize, long maxSizeInBytes) {
+		this.path = path;
+		this.channel = channel;
+		this.maxGroupSize = maxGroupSize;
+		this.maxSizeInBytes = maxSizeInBytes;
+	}
+
+	/**
+	 * Reads all the entries in the journal, sealed segments first, up to the first one torn or corrupted by a crash
+	 *
+	 * @return Entries in the journal, in the order they were appended
+	 */
+	public List<JournalEntry> readAll() throws IOException {
+		List<JournalEntry> entries = new ArrayList<>();
+		for (Path segment : findSealedSegments()) {
+			// Sealed segments are made durable before appends go on in a new file, so none of their records is torn
+			try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+				readAll(segmentChannel, entries);
+			}
+		}
+		readAll(channel, entries);
+		return entries;
+	}
+
+	/**
+	 * Discards the current content of the journal and starts accepting appends
+	 *
+	 * @param durableListener Listener of every group of entries made durable, invoked in append order by the writer
+	 *                        thread before the appends are acknowledged
+	 */
+	public synchronized void start(Consumer<List<JournalEntry>> durableListener) throws IOException {
+		if (running)
+			throw new IllegalStateException("Transfer journal already started: " + path);
+
+		for (Path segment : findSealedSegments())
+			Files.delete(segment);
+		truncate();
+		running = true;
+		writer = new Thread(() -> writeLoop(durableListener), "transfer-journal-writer");
+		writer.start();
+	}
+
+	/**
+	 * Appends an entry to the journal
+	 *
+	 * @param entry Entry to append. Its sequence is assigned by the journal
+	 * @return Future completed with the entry (and its sequence) once it is durable
+	 */
+	public CompletableFuture<JournalEntry> append(JournalEntry entry) {
+		CompletableFuture<JournalEntry> durable = new CompletableFuture<>();
+		if (failure != null)
+			durable.completeExceptionally(new UncheckedIOException("Transfer journal failed: " + path, failure));
+		else if (!running)
+			durable.completeExceptionally(new IllegalStateException("Transfer journal not running: " + path));
+		else {
+			PendingAppend append = new PendingAppend(entry, durable);
+			pendingAppends.add(append);
+			// The writer may have drained the queue for the last time right before the append was queued
+			if (!running && pendingAppends.remove(append))
+				durable.completeExceptionally(new IllegalStateException("Transfer journal not running: " + path));
+		}
+		return durable;
+	}
+
+	/**
+	 * Records that all the entries up to a given sequence have been persisted to the database, so that the segments
+	 * holding them can be deleted, and the journal truncated once it grows over its maximum size
+	 *
+	 * @param sequence Sequence of the last entry persisted
+	 */
+	public void markPersisted(long sequence) {
+		lastPersistedSequence = sequence;
+	}
+
+	/**
+	 * Stops accepting appends, waits for the ones already accepted to be made durable and closes the journal
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		running = false;
+		if (writer != null) {
+			try {
+				writer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		channel.close();
+	}
+
+	private void writeLoop(Consumer<List<JournalEntry>> durableListener) {
+		List<PendingAppend> group = new ArrayList<>(maxGroupSize);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(JournalEntry.SIZE * maxGroupSize);
+
+		while (running || !pendingAppends.isEmpty()) {
+			try {
+				PendingAppend first = pendingAppends.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					reclaimPersisted();
+					continue;
+				}
+				group.add(first);
+				pendingAppends.drainTo(group, maxGroupSize - 1);
+
+				List<JournalEntry> entries = write(group, buffer);
+				durableListener.accept(entries);
+				for (int i = 0; i < group.size(); i++)
+					group.get(i).durable().complete(entries.get(i));
+				reclaimPersisted();
+			} catch (IOException e) {
+				// Whatever is written after a possibly torn record would be lost on replay, so nothing else is
+				failure = e;
+				running = false;
+				failAll(group, e);
+				break;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+			group.clear();
+		}
+
+		List<PendingAppend> rejected = new ArrayList<>();
+		pendingAppends.drainTo(rejected);
+		failAll(rejected, failure != null ? failure : new IOException("Transfer journal closed: " + path));
+	}
+
+	private List<JournalEntry> write(List<PendingAppend> group, ByteBuffer buffer) throws IOException {
+		List<JournalEntry> entries = new ArrayList<>(group.size());
+		buffer.clear();
+		for (PendingAppend append : group) {
+			JournalEntry entry = append.entry().withSequence(++lastSequence);
+			entry.writeTo(buffer);
+			entries.add(entry);
+		}
+
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		channel.force(false);
+		return entries;
+	}
+
+	private void reclaimPersisted() throws IOException {
+		long persistedSequence = lastPersistedSequence;
+		while (!sealedSegments.isEmpty() && sealedSegments.peekFirst().lastSequence() <= persistedSequence)
+			Files.deleteIfExists(sealedSegments.removeFirst().path());
+
+		if (channel.size() <= maxSizeInBytes)
+			return;
+		if (persistedSequence == lastSequence)
+			truncate();
+		else
+			seal();
+	}
+
+	private void seal() throws IOException {
+		channel.close();
+		Path segment = path.resolveSibling(path.getFileName() + "." + lastSequence);
+		Files.move(path, segment, StandardCopyOption.ATOMIC_MOVE);
+		sealedSegments.addLast(new SealedSegment(segment, lastSequence));
+		channel = open(path);
+	}
+
+	private List<Path> findSealedSegments() throws IOException {
+		Path directory = path.toAbsolutePath().getParent();
+		String prefix = path.getFileName() + ".";
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+					.filter(file -> file.getFileName().toString().matches(Pattern.quote(prefix) + "\\d+"))
+					.sorted(Comparator.comparingLong(file -> Long.parseLong(file.getFileName().toString().substring(prefix.length()))))
+					.toList();
+		}
+	}
+
+	private void truncate() throws IOException {
+		channel.truncate(0);
+		channel.position(0);
+		channel.force(true);
+	}
+
+	private static void readAll(FileChannel source, List<JournalEntry> entries) throws IOException {
+		byte[] record = new byte[JournalEntry.SIZE];
+
+		InputStream in = Channels.newInputStream(source.position(0));
+		DataInputStream records = new DataInputStream(new BufferedInputStream(in, JournalEntry.SIZE * 1024));
+		try {
+			while (true) {
+				records.readFully(record);
+				JournalEntry entry = JournalEntry.readFrom(ByteBuffer.wrap(record));
+				if (entry == null)
+					break;
+				entries.add(entry);
+			}
+		} catch (EOFException e) {
+			// Clean end of the file, or a record torn by a crash in the middle of its write
+		}
+	}
+
+	private static FileChannel open(Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+
+		return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	private static void failAll(List<PendingAppend> appends, IOException cause) {
+		for (PendingAppend append : appends)
+			append.durable().completeExceptionally(new UncheckedIOException("Transfer journal failed", cause));
+	}
+
+	private record PendingAppend(JournalEntry entry, CompletableFuture<JournalEntry> durable) {}
+
+	private record SealedSegment(Path path, long lastSequence) {}
+}
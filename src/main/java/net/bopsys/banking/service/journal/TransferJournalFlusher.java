@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import net.bopsys.banking.model.entity.TransferOrder;
+import net.bopsys.banking.service.cache.BankAccountResourceCache;
+import net.bopsys.banking.service.transfer.TransferExecutor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Persists batches of {@link JournalEntry journal entries} to the database: one transfer order row per entry and one
+ * balance update per account touched by the batch, with its net amount, all in a single transaction.
+ * <p>
+ * Rows are written with plain JDBC batches. Transfer orders keep the identifier assigned when they were journaled,
+ * which is what makes replaying the journal after a crash idempotent, and balances are updated with atomic increments
+ * since the entries were already validated against the in-memory balances when they were accepted.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@ConditionalOnExpression("'${banking.engine:jpa}' == 'journal' or '${banking.engine:jpa}' == 'ledger'")
+public class TransferJournalFlusher {
+
+	// Keeps 'in' lists under the limit of bind parameters per statement of the most restrictive databases
+	private static final int MAX_IN_LIST_SIZE = 1000;
+
+	private static final String INSERT_TRANSFER_ORDER =
+			"insert into transfer_order (id, account_from_id, account_to_id, amount_transferred_in_cents, created_on) " +
+			"values (:id, :accountFromId, :accountToId, :amountInCents, :createdOn)";
+
+	private static final String UPDATE_BALANCE =
+			"update bank_account set balance_in_cents = balance_in_cents + :deltaInCents, version = version + 1 " +
+			"where id = :accountId";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransferExecutor transferExecutor;
+	private final BankAccountResourceCache bankAccountResourceCache;
+
+	public TransferJournalFlusher(
+			NamedParameterJdbcTemplate jdbcTemplate,
+			TransferExecutor transferExecutor,
+			BankAccountResourceCache bankAccountResourceCache) {
+
+		this.jdbcTemplate = jdbcTemplate;
+		this.transferExecutor = transferExecutor;
+		this.bankAccountResourceCache = bankAccountResourceCache;
+	}
+
+	/**
+	 * Persists a batch of entries
+	 *
+	 * @param entries Entries to persist
+	 * @param skipPersisted Whether the batch may contain entries already persisted (i.e. when replaying the journal)
+	 */
+	public void persist(List<JournalEntry> entries, boolean skipPersisted) {
+		if (entries.isEmpty())
+			return;
+
+		Set<Long> accountIds = new TreeSet<>();
+		for (JournalEntry entry : entries) {
+			accountIds.add(entry.accountFromId());
+			accountIds.add(entry.accountToId());
+		}
+
+		// Guarded like any other transfer so that balance checkpoints of the accounts touched never interleave with it
+		transferExecutor.execute(accountIds, () -> {
+			List<JournalEntry> pending = skipPersisted ? withoutPersisted(entries) : entries;
+			if (!pending.isEmpty())
+				insert(pending, accountIds);
+			return null;
+		});
+		bankAccountResourceCache.invalidate(accountIds);
+	}
+
+	private void insert(List<JournalEntry> entries, Set<Long> accountIds) {
+		Map<Long, Instant> checkpointedOns = findCheckpointedOns(accountIds);
+		Map<Long, Long> deltas = new TreeMap<>();
+		List<MapSqlParameterSource> transferOrders = new ArrayList<>(entries.size());
+
+		for (JournalEntry entry : entries) {
+			deltas.merge(entry.accountFromId(), -entry.amountInCents(), Long::sum);
+			deltas.merge(entry.accountToId(), entry.amountInCents(), Long::sum);
+
+			Instant createdOn = TransferOrder.creationTimestamp(entry.requestedOn(),
+					checkpointedOns.get(entry.accountFromId()), checkpointedOns.get(entry.accountToId()));
+			transferOrders.add(new MapSqlParameterSource()
+					.addValue("id", entry.id())
+					.addValue("accountFromId", entry.accountFromId())
+					.addValue("accountToId", entry.accountToId())
+					.addValue("amountInCents", entry.amountInCents())
+					.addValue("createdOn", OffsetDateTime.ofInstant(createdOn, ZoneOffset.UTC)));
+		}
+
+		List<MapSqlParameterSource> balanceUpdates = new ArrayList<>(deltas.size());
+		deltas.forEach((accountId, deltaInCents) -> balanceUpdates.add(new MapSqlParameterSource()
+				.addValue("accountId", accountId)
+				.addValue("deltaInCents", deltaInCents)));
+
+		jdbcTemplate.batchUpdate(INSERT_TRANSFER_ORDER, transferOrders.toArray(MapSqlParameterSource[]::new));
+		jdbcTemplate.batchUpdate(UPDATE_BALANCE, balanceUpdates.toArray(MapSqlParameterSource[]::new));
+	}
+
+	private Map<Long, Instant> findCheckpointedOns(Collection<Long> accountIds) {
+		Map<Long, Instant> checkpointedOns = new HashMap<>();
+		for (List<Long> chunk : chunks(new ArrayList<>(accountIds))) {
+			jdbcTemplate.query("select id, checkpointed_on from bank_account where id in (:ids)",
+					new MapSqlParameterSource("ids", chunk),
+					rs -> {
+						OffsetDateTime checkpointedOn = rs.getObject("checkpointed_on", OffsetDateTime.class);
+						if (checkpointedOn != null)
+							checkpointedOns.put(rs.getLong("id"), checkpointedOn.toInstant());
+					});
+		}
+		return checkpointedOns;
+	}
+
+	private List<JournalEntry> withoutPersisted(List<JournalEntry> entries) {
+		Set<UUID> persistedIds = new HashSet<>();
+		for (List<UUID> chunk : chunks(entries.stream().map(JournalEntry::id).toList())) {
+			persistedIds.addAll(jdbcTemplate.queryForList("select id from transfer_order where id in (:ids)",
+					new MapSqlParameterSource("ids", chunk), UUID.class));
+		}
+		return entries.stream()
+				.filter(entry -> !persistedIds.contains(entry.id()))
+				.toList();
+	}
+
+	private static <T> List<List<T>> chunks(List<T> values) {
+		List<List<T>> chunks = new ArrayList<>();
+		for (int from = 0; from < values.size(); from += MAX_IN_LIST_SIZE)
+			chunks.add(values.subList(from, Math.min(from + MAX_IN_LIST_SIZE, values.size())));
+		return chunks;
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable store of the transfers accepted by the in-memory engines ({@code banking.engine=journal|ledger}).
+ * <p>
+ * Transfers are made durable in the local {@link TransferJournal}, which amortizes its fsyncs over all the transfers
+ * appended concurrently, and a background thread then persists them to the database in large batches through the
+ * {@link TransferJournalFlusher}. On startup, the entries of the journal not yet persisted (i.e. after a crash) are
+ * replayed before any transfer is appended.
+ *
+ * @author Marco Ruiz
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${banking.engine:jpa}' == 'journal' or '${banking.engine:jpa}' == 'ledger'")
+public class WriteBehindTransferStore {
+
+	private final TransferJournal journal;
+	private final TransferJournalFlusher flusher;
+	private final Duration flushInterval;
+	private final int flushBatchSize;
+
+	private final BlockingQueue<JournalEntry> durableEntries = new LinkedBlockingQueue<>();
+	private final ScheduledExecutorService flushScheduler =
+			Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "transfer-journal-flusher"));
+
+	// Batch that failed to be persisted, retried before any other. Only accessed by the flusher thread
+	private List<JournalEntry> failedBatch = List.of();
+
+	public WriteBehindTransferStore(
+			TransferJournalFlusher flusher,
+			@Value("${banking.journal.path:./data/transfer-journal.log}") String journalPath,
+			@Value("${banking.journal.max-group-size:4096}") int maxGroupSize,
+			@Value("${banking.journal.max-size:64MB}") DataSize maxSize,
+			@Value("${banking.journal.flush-interval:50ms}") Duration flushInterval,
+			@Value("${banking.journal.flush-batch-size:5000}") int flushBatchSize) throws IOException {
+
+		this.journal = new TransferJournal(Paths.get(journalPath), maxGroupSize, maxSize.toBytes());
+		this.flusher = flusher;
+		this.flushInterval = flushInterval;
+		this.flushBatchSize = flushBatchSize;
+	}
+
+	@PostConstruct
+	void start() throws IOException {
+		List<JournalEntry> unpersisted = journal.readAll();
+		for (int from = 0; from < unpersisted.size(); from += flushBatchSize)
+			flusher.persist(unpersisted.subList(from, Math.min(from + flushBatchSize, unpersisted.size())), true);
+		if (!unpersisted.isEmpty())
+			log.info("Replayed {} transfers from the transfer journal", unpersisted.size());
+
+		journal.start(durableEntries::addAll);
+		flushScheduler.scheduleWithFixedDelay(
+				this::flushDurableEntries, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stop() throws IOException, InterruptedException {
+		journal.close();
+		flushScheduler.shutdown();
+		flushScheduler.awaitTermination(1, TimeUnit.MINUTES);
+		flushDurableEntries();
+	}
+
+	/**
+	 * Appends an accepted transfer to the journal
+	 *
+	 * @param entry Transfer accepted
+	 * @return Future completed once the transfer is durable. After a failure of the journal it is not known whether
+	 *         the transfer reached it, so no further transfer is accepted; restarting the node recovers the state
+	 */
+	public CompletableFuture<JournalEntry> append(JournalEntry entry) {
+		return journal.append(entry);
+	}
+
+	private void flushDurableEntries() {
+		try {
+			if (!failedBatch.isEmpty()) {
+				// It may have been committed right before the failure was detected
+				persist(failedBatch, true);
+				failedBatch = List.of();
+			}
+
+			List<JournalEntry> batch = new ArrayList<>(flushBatchSize);
+			while (durableEntries.drainTo(batch, flushBatchSize) > 0) {
+				failedBatch = batch;
+				persist(batch, false);
+				failedBatch = List.of();
+				batch = new ArrayList<>(flushBatchSize);
+			}
+		} catch (RuntimeException e) {
+			log.warn("Failed to persist {} journaled transfers; retrying in {}", failedBatch.size(), flushInterval, e);
+		}
+	}
+
+	private void persist(List<JournalEntry> batch, boolean skipPersisted) {
+		flusher.persist(batch, skipPersisted);
+		journal.markPersisted(batch.get(batch.size() - 1).sequence());
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.ledger;
+
+import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.model.entity.TimeOrderedUuidGenerator;
+import net.bopsys.banking.service.journal.JournalEntry;
+import net.bopsys.banking.service.journal.WriteBehindTransferStore;
+import net.bopsys.banking.service.ledger.LedgerRingBuffer.Command;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.bopsys.banking.service.interfaces.BankingService.ACCOUNT_ROLE_CREDIT;
+import static net.bopsys.banking.service.interfaces.BankingService.ACCOUNT_ROLE_DEBIT;
+
+/**
+ * In-memory ledger of account balances mutated by one single thread, the sequencer.
+ * <p>
+ * Every request is published to a {@link LedgerRingBuffer} and executed by the sequencer in the order it was
+ * published. Since nothing else ever touches the balances, they need no locks, no atomic operations and no defensive
+ * copies, and validating and applying a transfer takes a couple of hash lookups. The sequencer never blocks either:
+ * balances of accounts it does not hold yet are read from the database by the producer, and accepted transfers are
+ * handed over to the {@link WriteBehindTransferStore} to be made durable and persisted asynchronously.
+ *
+ * @author Marco Ruiz
+ */
+final class Ledger {
+
+	static final long UNKNOWN_BALANCE = Long.MIN_VALUE;
+
+	private static final int MAX_BATCH_SIZE = 1024;
+	private static final int SPINS_BEFORE_YIELDING = 100;
+	private static final int YIELDS_BEFORE_PARKING = 100;
+	private static final long PARK_NANOS = 50_000;
+
+	private final LedgerRingBuffer ringBuffer;
+	private final WriteBehindTransferStore transferStore;
+	private final Set<Long> heldAccountIds = ConcurrentHashMap.newKeySet();
+	private final Thread sequencer;
+	private volatile boolean running;
+
+	// Only accessed by the sequencer thread
+	private final LongLongHashMap balances;
+
+	Ledger(int ringBufferSize, int expectedAccounts, WriteBehindTransferStore transferStore) {
+		this.ringBuffer = new LedgerRingBuffer(ringBufferSize);
+		this.balances = new LongLongHashMap(expectedAccounts);
+		this.transferStore = transferStore;
+		this.sequencer = new Thread(this::sequence, "ledger-sequencer");
+	}
+
+	void start() {
+		running = true;
+		sequencer.start();
+	}
+
+	/**
+	 * Stops the sequencer once it has executed all the requests already published
+	 */
+	void stop() throws InterruptedException {
+		running = false;
+		sequencer.join();
+	}
+
+	/**
+	 * @return Whether the ledger holds the balance of an account, i.e. its database balance is no longer authoritative
+	 */
+	boolean holds(long accountId) {
+		return heldAccountIds.contains(accountId);
+	}
+
+	/**
+	 * Requests a transfer
+	 *
+	 * @param accountFromLoadedBalance Balance of the debited account read from the database if the ledger did not
+	 *                                 {@link #holds(long) hold} it, or {@link #UNKNOWN_BALANCE}
+	 * @param accountToLoadedBalance Balance of the credited account read from the database if the ledger did not hold
+	 *                               it, or {@link #UNKNOWN_BALANCE}
+	 * @return Future completed once the transfer is durable, or exceptionally if it is rejected
+	 */
+	CompletableFuture<JournalEntry> transfer(long accountFromId, long accountToId, long amountInCents,
+			long accountFromLoadedBalance, long accountToLoadedBalance) {
+
+		CompletableFuture<JournalEntry> result = new CompletableFuture<>();
+		long sequence = claim();
+		Command command = ringBuffer.get(sequence);
+		command.type = Command.Type.TRANSFER;
+		command.accountFromId = accountFromId;
+		command.accountToId = accountToId;
+		command.amountInCents = amountInCents;
+		command.accountFromLoadedBalance = accountFromLoadedBalance;
+		command.accountToLoadedBalance = accountToLoadedBalance;
+		command.transferResult = result;
+		ringBuffer.publish(sequence);
+		return result;
+	}
+
+	/**
+	 * Requests the balance of an account the ledger {@link #holds(long) holds}
+	 *
+	 * @return Future completed with the balance, as of all the transfers requested before
+	 */
+	CompletableFuture<Long> balance(long accountId) {
+		CompletableFuture<Long> result = new CompletableFuture<>();
+		long sequence = claim();
+		Command command = ringBuffer.get(sequence);
+		command.type = Command.Type.BALANCE;
+		command.accountFromId = accountId;
+		command.balanceResult = result;
+		ringBuffer.publish(sequence);
+		return result;
+	}
+
+	private long claim() {
+		if (!running)
+			throw new IllegalStateException("Ledger not running");
+		return ringBuffer.claim();
+	}
+
+	private void sequence() {
+		int idleRounds = 0;
+		while (running || ringBuffer.isPublished(ringBuffer.getConsumedSequence() + 1)) {
+			long last = ringBuffer.getConsumedSequence();
+			int executed = 0;
+			while (executed < MAX_BATCH_SIZE && ringBuffer.isPublished(last + 1)) {
+				execute(ringBuffer.get(++last));
+				executed++;
+			}
+
+			// Slots are released in batches; producers only wait on them when the ring is full
+			if (executed > 0) {
+				ringBuffer.markConsumed(last);
+				idleRounds = 0;
+			} else {
+				idleRounds = idle(idleRounds);
+			}
+		}
+	}
+
+	private static int idle(int idleRounds) {
+		if (idleRounds < SPINS_BEFORE_YIELDING)
+			Thread.onSpinWait();
+		else if (idleRounds < SPINS_BEFORE_YIELDING + YIELDS_BEFORE_PARKING)
+			Thread.yield();
+		else
+			LockSupport.parkNanos(PARK_NANOS);
+		return idleRounds + 1;
+	}
+
+	private void execute(Command command) {
+		try {
+			switch (command.type) {
+				case TRANSFER -> transfer(command);
+				case BALANCE -> command.balanceResult.complete(balances.get(command.accountFromId, 0));
+			}
+		} catch (RuntimeException e) {
+			if (command.transferResult != null)
+				command.transferResult.completeExceptionally(e);
+			if (command.balanceResult != null)
+				command.balanceResult.completeExceptionally(e);
+		} finally {
+			command.clear();
+		}
+	}
+
+	private void transfer(Command command) {
+		long accountFromId = command.accountFromId;
+		long accountToId = command.accountToId;
+		long amountInCents = command.amountInCents;
+
+		hold(accountFromId, command.accountFromLoadedBalance, ACCOUNT_ROLE_DEBIT);
+		hold(accountToId, command.accountToLoadedBalance, ACCOUNT_ROLE_CREDIT);
+
+		long accountFromBalance = balances.get(accountFromId, 0);
+		if (accountFromBalance - amountInCents < 0)
+			throw new InsufficientBalanceForTransferException(accountFromId, accountFromBalance, amountInCents * -1);
+
+		balances.put(accountFromId, accountFromBalance - amountInCents);
+		balances.put(accountToId, balances.get(accountToId, 0) + amountInCents);
+
+		JournalEntry entry = new JournalEntry(0, TimeOrderedUuidGenerator.nextUuid(), accountFromId, accountToId,
+				amountInCents, Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+		// Completed by the journal writer thread, so that the sequencer never waits for the disk
+		CompletableFuture<JournalEntry> result = command.transferResult;
+		transferStore.append(entry).whenComplete((durableEntry, failure) -> {
+			if (failure != null)
+				result.completeExceptionally(failure);
+			else
+				result.complete(durableEntry);
+		});
+	}
+
+	private void hold(long accountId, long loadedBalance, String accountRole) {
+		if (balances.containsKey(accountId))
+			return;
+
+		// Only producers that found the account missing read its balance, and the first of them to be sequenced wins
+		if (loadedBalance == UNKNOWN_BALANCE)
+			throw new BankAccountNotFoundException(accountId, accountRole);
+
+		balances.put(accountId, loadedBalance);
+		heldAccountIds.add(accountId);
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.ledger;
+
+import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.InvalidTransferBatchException;
+import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
+import net.bopsys.banking.exception.TransferAmountTooLowException;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.BankAccount;
+import net.bopsys.banking.model.entity.TransferOrder;
+import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchItemResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.repository.BankAccountRepository;
+import net.bopsys.banking.service.BankingServiceImpl;
+import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.journal.JournalEntry;
+import net.bopsys.banking.service.journal.WriteBehindTransferStore;
+import net.bopsys.banking.service.transfer.TransferMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link BankingService} (enabled with {@code banking.engine=ledger}) whose balance mutations all flow through the
+ * single sequencer thread of a {@link Ledger}, which removes lock contention from the transfer path altogether.
+ * <p>
+ * Transfers are validated and applied by the sequencer against balances held in memory, with the same rules (and
+ * exceptions) as {@link BankingServiceImpl}, and acknowledged once the {@link WriteBehindTransferStore} has made them
+ * durable; they are persisted to the database asynchronously. As with {@code banking.engine=journal}, all the
+ * transfers involving an account must be accepted by the same node, bank account resources report the in-memory
+ * balance, and transfer histories and computed balances lag behind by up to the flush interval.
+ *
+ * @author Marco Ruiz
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.engine", havingValue = "ledger")
+public class LedgerBankingService implements BankingService {
+
+	private final BankingServiceImpl delegate;
+	private final BankAccountRepository bankAccountRepository;
+	private final TransferMetrics transferMetrics;
+	private final Ledger ledger;
+
+	public LedgerBankingService(
+			BankingServiceImpl delegate,
+			BankAccountRepository bankAccountRepository,
+			WriteBehindTransferStore transferStore,
+			TransferMetrics transferMetrics,
+			@Value("${banking.ledger.ring-buffer-size:65536}") int ringBufferSize,
+			@Value("${banking.ledger.expected-accounts:100000}") int expectedAccounts) {
+
+		this.delegate = delegate;
+		this.bankAccountRepository = bankAccountRepository;
+		this.transferMetrics = transferMetrics;
+		this.ledger = new Ledger(ringBufferSize, expectedAccounts, transferStore);
+	}
+
+	@PostConstruct
+	void start() {
+		ledger.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		ledger.stop();
+	}
+
+	@Override
+	public BankAccountResource createAccount(Long customerId, long initialBalanceInCents) {
+		return delegate.createAccount(customerId, initialBalanceInCents);
+	}
+
+	@Override
+	public BankAccountResource getBankAccount(Long accountId) throws BankAccountNotFoundException {
+		BankAccountResource resource = delegate.getBankAccount(accountId);
+		return ledger.holds(accountId) ?
+				resource.toBuilder().balanceInCents(await(ledger.balance(accountId))).build() :
+				resource;
+	}
+
+	@Override
+	public TransferOrder createTransferOrder(Long accountFromId, TransferOrderDto dto) {
+		try {
+			return transferOrder(await(submit(accountFromId, dto.getAccountToId(), dto.getTransferAmountInCents())));
+		} catch (SameBankAccountTransferNotAllowedException | TransferAmountTooLowException |
+				 BankAccountNotFoundException | InsufficientBalanceForTransferException e) {
+			transferMetrics.rejected(e);
+			throw e;
+		}
+	}
+
+	@Override
+	public TransferOrderBatchResource createTransferOrders(List<TransferOrderBatchItemDto> dtos) {
+		if (dtos.size() > MAX_TRANSFER_BATCH_SIZE)
+			throw new InvalidTransferBatchException(String.format(
+					"batches must have at most %d items (items provided: %d)", MAX_TRANSFER_BATCH_SIZE, dtos.size()));
+
+		// Every item is submitted (in order) before waiting for any of them, so that the sequencer applies them back
+		// to back and the journal makes them durable with the same group commit
+		List<CompletableFuture<JournalEntry>> submitted = new ArrayList<>(dtos.size());
+		String[] errorsByIndex = new String[dtos.size()];
+		for (int index = 0; index < dtos.size(); index++) {
+			TransferOrderBatchItemDto dto = dtos.get(index);
+			try {
+				submitted.add(submit(dto.getAccountFromId(), dto.getAccountToId(), dto.getTransferAmountInCents()));
+			} catch (SameBankAccountTransferNotAllowedException | TransferAmountTooLowException |
+					 BankAccountNotFoundException e) {
+				transferMetrics.rejected(e);
+				submitted.add(null);
+				errorsByIndex[index] = e.getMessage();
+			}
+		}
+
+		int succeeded = 0;
+		List<TransferOrderBatchItemResource> items = new ArrayList<>(dtos.size());
+		for (int index = 0; index < dtos.size(); index++) {
+			JournalEntry entry = null;
+			if (submitted.get(index) != null) {
+				try {
+					entry = await(submitted.get(index));
+					succeeded++;
+				} catch (BankAccountNotFoundException | InsufficientBalanceForTransferException e) {
+					transferMetrics.rejected(e);
+					errorsByIndex[index] = e.getMessage();
+				}
+			}
+			items.add(TransferOrderBatchItemResource.builder()
+					.index(index)
+					.succeeded(entry != null)
+					.transferOrderId(entry != null ? entry.id() : null)
+					.error(errorsByIndex[index])
+					.build());
+		}
+
+		return TransferOrderBatchResource.builder()
+				.succeeded(succeeded)
+				.failed(dtos.size() - succeeded)
+				.items(items)
+				.build();
+	}
+
+	@Override
+	public long computeBalanceInCents(Long accountId) {
+		return delegate.computeBalanceInCents(accountId);
+	}
+
+	@Override
+	public List<TransferOrderResource> getTransferHistory(Long accountId) {
+		return delegate.getTransferHistory(accountId);
+	}
+
+	@Override
+	public TransferOrderPageResource getTransferHistoryPage(Long accountId, String afterCursor, int limit) {
+		return delegate.getTransferHistoryPage(accountId, afterCursor, limit);
+	}
+
+	@Override
+	public void streamTransferHistory(Long accountId, Consumer<TransferOrderResource> consumer) {
+		delegate.streamTransferHistory(accountId, consumer);
+	}
+
+	private CompletableFuture<JournalEntry> submit(Long accountFromId, Long accountToId, long transferAmountInCents) {
+		if (Objects.equals(accountFromId, accountToId))
+			throw new SameBankAccountTransferNotAllowedException(accountFromId);
+
+		if (transferAmountInCents <= 0)
+			throw new TransferAmountTooLowException(transferAmountInCents);
+
+		return ledger.transfer(accountFromId, accountToId, transferAmountInCents,
+				loadedBalance(accountFromId, ACCOUNT_ROLE_DEBIT),
+				loadedBalance(accountToId, ACCOUNT_ROLE_CREDIT));
+	}
+
+	// Database balance of an account the ledger does not hold yet. Read here so that the sequencer never does any I/O
+	private long loadedBalance(Long accountId, String accountRole) {
+		if (accountId == null)
+			throw new BankAccountNotFoundException(null, accountRole);
+
+		return ledger.holds(accountId) ?
+				Ledger.UNKNOWN_BALANCE :
+				bankAccountRepository.findBankAccount(accountId, accountRole).getBalanceInCents();
+	}
+
+	private static <T> T await(CompletableFuture<T> result) {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			throw (e.getCause() instanceof RuntimeException cause) ? cause : e;
+		}
+	}
+
+	// Transfer order as it will be persisted. Its accounts only carry their identifier
+	private static TransferOrder transferOrder(JournalEntry entry) {
+		TransferOrder transfer = new TransferOrder();
+		transfer.setId(entry.id());
+		transfer.setAccountFrom(accountReference(entry.accountFromId()));
+		transfer.setAccountTo(accountReference(entry.accountToId()));
+		transfer.setAmountTransferredInCents(entry.amountInCents());
+		transfer.setCreatedOn(entry.requestedOn());
+		return transfer;
+	}
+
+	private static BankAccount accountReference(long accountId) {
+		BankAccount account = new BankAccount();
+		account.setId(accountId);
+		return account;
+	}
+}
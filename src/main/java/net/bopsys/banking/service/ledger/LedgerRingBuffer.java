@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.ledger;
+
+import net.bopsys.banking.service.journal.JournalEntry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring of preallocated {@link Command commands} through which any number of producer threads hand commands
+ * over to the single {@link Ledger} sequencer thread, in the fashion of the LMAX Disruptor.
+ * <p>
+ * Producers claim sequences with a single atomic increment, fill in the command in the slot of the sequence and
+ * publish it. The sequencer consumes sequences strictly in order, as soon as they are published. No locks are taken on
+ * either side; producers only wait when the ring is full, i.e. when the sequencer has fallen a whole ring behind.
+ *
+ * @author Marco Ruiz
+ */
+final class LedgerRingBuffer {
+
+	private final Command[] slots;
+	private final AtomicLongArray publishedSequences;
+	private final int mask;
+
+	private final AtomicLong claimedSequence = new AtomicLong(-1);
+	private volatile long consumedSequence = -1;
+
+	LedgerRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.slots = new Command[size];
+		this.publishedSequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			slots[i] = new Command();
+			publishedSequences.set(i, -1);
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Claims the next sequence, waiting for its slot to be consumed if the ring is full
+	 *
+	 * @return Sequence claimed; its {@link #get(long) command} must be filled in and {@link #publish(long) published}
+	 */
+	long claim() {
+		long sequence = claimedSequence.incrementAndGet();
+		while (sequence - slots.length > consumedSequence)
+			LockSupport.parkNanos(1_000);
+		return sequence;
+	}
+
+	Command get(long sequence) {
+		return slots[(int) sequence & mask];
+	}
+
+	void publish(long sequence) {
+		// Volatile write: makes the content of the command visible to the sequencer along with the sequence
+		publishedSequences.set((int) sequence & mask, sequence);
+	}
+
+	boolean isPublished(long sequence) {
+		return publishedSequences.get((int) sequence & mask) == sequence;
+	}
+
+	long getConsumedSequence() {
+		return consumedSequence;
+	}
+
+	/**
+	 * Releases the slots of all the sequences up to a given one (included) to the producers
+	 */
+	void markConsumed(long sequence) {
+		consumedSequence = sequence;
+	}
+
+	/**
+	 * Request to the sequencer. Instances are reused for every sequence landing on their slot
+	 */
+	static final class Command {
+
+		enum Type { TRANSFER, BALANCE }
+
+		Type type;
+		long accountFromId;
+		long accountToId;
+		long amountInCents;
+
+		// Balances read from the database by the producer for accounts the ledger did not hold yet, if any
+		long accountFromLoadedBalance;
+		long accountToLoadedBalance;
+
+		CompletableFuture<JournalEntry> transferResult;
+		CompletableFuture<Long> balanceResult;
+
+		void clear() {
+			transferResult = null;
+			balanceResult = null;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.ledger;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from primitive {@code long} keys to primitive {@code long} values. Unlike a
+ * {@code Map<Long, Long>}, it allocates nothing per entry and keeps all entries packed in two arrays, which keeps the
+ * balances of a large number of accounts within a few cache lines of each lookup. Not thread safe.
+ *
+ * @author Marco Ruiz
+ */
+final class LongLongHashMap {
+
+	private static final long FREE_KEY = 0;
+
+	private long[] keys;
+	private long[] values;
+	private int mask;
+	private int size;
+
+	// The free key marks empty slots, so its entry (if any) is kept aside
+	private boolean hasFreeKey;
+	private long freeKeyValue;
+
+	LongLongHashMap(int expectedSize) {
+		allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+	}
+
+	boolean containsKey(long key) {
+		if (key == FREE_KEY)
+			return hasFreeKey;
+		return keys[slot(key)] == key;
+	}
+
+	long get(long key, long defaultValue) {
+		if (key == FREE_KEY)
+			return hasFreeKey ? freeKeyValue : defaultValue;
+
+		int slot = slot(key);
+		return (keys[slot] == key) ? values[slot] : defaultValue;
+	}
+
+	void put(long key, long value) {
+		if (key == FREE_KEY) {
+			if (!hasFreeKey)
+				size++;
+			hasFreeKey = true;
+			freeKeyValue = value;
+			return;
+		}
+
+		int slot = slot(key);
+		if (keys[slot] == key) {
+			values[slot] = value;
+			return;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+		// Kept at most half full so that probe sequences stay short
+		if (++size > keys.length / 2)
+			rehash();
+	}
+
+	int size() {
+		return size;
+	}
+
+	// Slot holding the key, or the free slot where it would be inserted
+	private int slot(long key) {
+		int slot = hash(key) & mask;
+		while (keys[slot] != key && keys[slot] != FREE_KEY)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		allocate(oldKeys.length * 2);
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE_KEY) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new long[capacity];
+		Arrays.fill(keys, FREE_KEY);
+		mask = capacity - 1;
+	}
+
+	private static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+}
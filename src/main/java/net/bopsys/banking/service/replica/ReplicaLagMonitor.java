@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.replica;
+
+import net.bopsys.banking.model.entity.ReplicaHeartbeat;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+
+/**
+ * Tracks how far the read replica lags behind the primary database through a {@link ReplicaHeartbeat}: every
+ * heartbeat interval, the heartbeat replicated so far is read from the replica and a new one is stamped on the
+ * primary. The age of the replicated heartbeat overestimates the lag by up to a heartbeat interval, so the replica is
+ * only deemed fresh when it is positively known to be within {@code banking.replica.max-lag} of the primary; until
+ * the first heartbeat is replicated, or while the replica cannot be reached, it is not.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@ConditionalOnProperty(name = "banking.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+	private final JdbcTemplate primaryJdbcTemplate;
+	private final JdbcTemplate replicaJdbcTemplate;
+	private final Duration maxLag;
+
+	// Null until measured, or while the replica cannot be reached
+	private volatile Duration lag;
+
+	public ReplicaLagMonitor(
+			@Qualifier("primaryDataSource") DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") DataSource replicaDataSource,
+			MeterRegistry meterRegistry,
+			@Value("${banking.replica.max-lag:5s}") Duration maxLag) {
+
+		this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+		this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+		this.maxLag = maxLag;
+
+		Gauge.builder("banking.replica.lag", this, monitor -> monitor.getLag().map(Duration::toMillis).orElse(-1L))
+				.description("Upper bound of the lag of the read replica behind the primary (-1 when unknown)")
+				.baseUnit("milliseconds")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(initialDelayString = "${banking.replica.heartbeat-interval:1s}",
+			fixedDelayString = "${banking.replica.heartbeat-interval:1s}")
+	public void checkLag() {
+		Instant now = Instant.now();
+		try {
+			Timestamp replicatedBeatOn = replicaJdbcTemplate.queryForObject(
+					"select beat_on from replica_heartbeat where id = ?", Timestamp.class, ReplicaHeartbeat.ID);
+			lag = Duration.between(replicatedBeatOn.toInstant(), now);
+		} catch (DataAccessException e) {
+			lag = null;
+		}
+		beat(now);
+	}
+
+	public boolean isReplicaFresh() {
+		Duration currentLag = lag;
+		return currentLag != null && currentLag.compareTo(maxLag) <= 0;
+	}
+
+	public Optional<Duration> getLag() {
+		return Optional.ofNullable(lag);
+	}
+
+	private void beat(Instant now) {
+		Timestamp beatOn = Timestamp.from(now);
+		if (primaryJdbcTemplate.update("update replica_heartbeat set beat_on = ? where id = ?", beatOn, ReplicaHeartbeat.ID) > 0)
+			return;
+
+		try {
+			primaryJdbcTemplate.update("insert into replica_heartbeat (id, beat_on) values (?, ?)", ReplicaHeartbeat.ID, beatOn);
+		} catch (DuplicateKeyException e) {
+			// Stamped meanwhile by another node, which is just as good
+		}
+	}
+}
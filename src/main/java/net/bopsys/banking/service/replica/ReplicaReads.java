@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.replica;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs queries which tolerate slightly stale data in read-only transactions which may be served by a read replica
+ * (see {@link ReplicaRoutingDataSource}), when one is configured.
+ * <p>
+ * Read-only transactions are only routed to a replica when opened here. Spring Data opens read-only transactions
+ * around every repository query run outside a transaction too, and some of those callers (e.g. the ledger loading
+ * balances, the balance checkpoints, the idempotency key lookups) must read the latest committed data. So must the
+ * loaders of the resource caches: an entry loaded from a lagging replica right after its invalidation would be cached
+ * with the state before the change for its whole time to live.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+public class ReplicaReads {
+
+	private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+	private final TransactionOperations readOnlyTransaction;
+
+	@Autowired
+	public ReplicaReads(PlatformTransactionManager transactionManager) {
+		this(readOnlyTransaction(transactionManager));
+	}
+
+	public ReplicaReads(TransactionOperations readOnlyTransaction) {
+		this.readOnlyTransaction = readOnlyTransaction;
+	}
+
+	/**
+	 * Runs a query in a read-only transaction eligible to be served by a read replica, unless a transaction is already
+	 * running (which may have written data the query must see), in which case the query joins it
+	 *
+	 * @param query Query to run
+	 * @return Result of the query
+	 */
+	public <T> T read(Supplier<T> query) {
+		if (TransactionSynchronizationManager.isActualTransactionActive())
+			return query.get();
+
+		REPLICA_READ.set(Boolean.TRUE);
+		try {
+			return readOnlyTransaction.execute(status -> query.get());
+		} finally {
+			REPLICA_READ.remove();
+		}
+	}
+
+	static boolean isReplicaRead() {
+		return REPLICA_READ.get() != null;
+	}
+
+	private static TransactionOperations readOnlyTransaction(PlatformTransactionManager transactionManager) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+		return transactionTemplate;
+	}
+}
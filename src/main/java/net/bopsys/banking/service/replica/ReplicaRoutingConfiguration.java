@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+
+/**
+ * Replaces the data source of the application with one routing read-only transactions opened through
+ * {@link ReplicaReads} to a pool of connections to a read replica, and everything else to a pool of connections to the
+ * primary database. The primary pool is still configured through {@code spring.datasource}; the replica pool through
+ * {@code banking.replica}. Replicating the primary onto the replica is up to the database.
+ *
+ * @author Marco Ruiz
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "banking.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public HikariDataSource replicaDataSource(
+			@Value("${banking.replica.url}") String url,
+			@Value("${banking.replica.username:}") String username,
+			@Value("${banking.replica.password:}") String password,
+			@Value("${banking.replica.maximum-pool-size:10}") int maximumPoolSize) {
+
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+		dataSource.setPoolName("replica");
+		dataSource.setMaximumPoolSize(maximumPoolSize);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(
+			@Qualifier("primaryDataSource") DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") DataSource replicaDataSource,
+			ReplicaLagMonitor lagMonitor,
+			MeterRegistry meterRegistry) {
+
+		return new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor, meterRegistry));
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+
+/**
+ * Hands out connections of the replica pool to the read-only transactions opened through {@link ReplicaReads} while
+ * the replica keeps up with the primary (see {@link ReplicaLagMonitor}), and connections of the primary pool to
+ * everything else.
+ * <p>
+ * The target is decided when a connection is requested, so this data source has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers request their
+ * connection before the transaction is flagged as read-only, and the proxy defers the request to the first statement.
+ *
+ * @author Marco Ruiz
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Target {PRIMARY, REPLICA}
+
+	private final ReplicaLagMonitor lagMonitor;
+
+	private final Counter replicaReads;
+	private final Counter primaryFallbacks;
+
+	ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource, ReplicaLagMonitor lagMonitor,
+			MeterRegistry meterRegistry) {
+
+		this.lagMonitor = lagMonitor;
+		setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+		setDefaultTargetDataSource(primaryDataSource);
+		initialize();
+
+		this.replicaReads = Counter.builder("banking.replica.reads")
+				.description("Read-only transactions eligible for the replica")
+				.tag("target", "replica")
+				.register(meterRegistry);
+		this.primaryFallbacks = Counter.builder("banking.replica.reads")
+				.description("Read-only transactions eligible for the replica")
+				.tag("target", "primary")
+				.register(meterRegistry);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!ReplicaReads.isReplicaRead() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+			return Target.PRIMARY;
+
+		if (lagMonitor.isReplicaFresh()) {
+			replicaReads.increment();
+			return Target.REPLICA;
+		}
+
+		primaryFallbacks.increment();
+		return Target.PRIMARY;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service.transfer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes balance mutations on bank accounts within this JVM using a fixed set of lock stripes.
+ * <p>
+ * Every account is mapped onto a stripe by its identifier. Stripes are always acquired in ascending order, which is
+ * the ascending order of the account identifiers for any pair of accounts living in different stripes, so two
+ * operations can never wait on each other in a cycle. Operations on disjoint accounts land (for the most part) on
+ * different stripes and run in parallel.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+public class AccountLockManager {
+
+	private final ReentrantLock[] stripes;
+	private final int mask;
+
+	public AccountLockManager(@Value("${banking.transfer.lock-stripes:1024}") int stripeCount) {
+		int size = (stripeCount <= 1) ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+		this.stripes = new ReentrantLock[size];
+		for (int i = 0; i < size; i++)
+			stripes[i] = new ReentrantLock();
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Runs an action while holding the locks of all the bank accounts of interest
+	 *
+	 * @param accountIds Identifiers of the bank accounts the action is going to mutate
+	 * @param action Action to run
+	 * @return Result of the action
+	 */
+	public <T> T withLocks(Collection<Long> accountIds, Supplier<T> action) {
+		int[] indexes = accountIds.stream()
+				.filter(Objects::nonNull)
+				.mapToInt(this::stripeIndex)
+				.distinct()
+				.sorted()
+				.toArray();
+
+		int acquired = 0;
+		try {
+			for (int index : indexes) {
+				stripes[index].lock();
+				acquired++;
+			}
+			return action.get();
+		} finally {
+			for (int i = acquired - 1; i >= 0; i--)
+				stripes[indexes[i]].unlock();
+		}
+	}
+
+	public int getStripeCount() {
+		return stripes.length;
+	}
+
+	private int stripeIndex(Long accountId) {
+		int hash = Long.hashCode(accountId);
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+}
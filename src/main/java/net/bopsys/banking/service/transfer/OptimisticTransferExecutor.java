@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service.transfer;
+
+import net.bopsys.banking.exception.TransferConflictException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link TransferExecutor} relying on the version column of the bank accounts to detect balances overwritten by a
+ * concurrent transfer, possibly running on another application node. Conflicting units of work are retried from
+ * scratch, with an exponential backoff and full jitter, up to a configurable number of attempts.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transfer.mode", havingValue = "optimistic")
+public class OptimisticTransferExecutor implements TransferExecutor {
+
+	private final TransactionOperations transactionOperations;
+	private final int maxAttempts;
+	private final long initialBackoffNanos;
+	private final long maxBackoffNanos;
+
+	private final Counter conflictCounter;
+	private final Counter retryCounter;
+	private final Counter exhaustedCounter;
+
+	public OptimisticTransferExecutor(
+			TransactionOperations transactionOperations,
+			MeterRegistry meterRegistry,
+			@Value("${banking.transfer.optimistic.max-attempts:5}") int maxAttempts,
+			@Value("${banking.transfer.optimistic.initial-backoff:5ms}") Duration initialBackoff,
+			@Value("${banking.transfer.optimistic.max-backoff:200ms}") Duration maxBackoff) {
+
+		this.transactionOperations = transactionOperations;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.initialBackoffNanos = initialBackoff.toNanos();
+		this.maxBackoffNanos = maxBackoff.toNanos();
+
+		this.conflictCounter = Counter.builder("banking.transfer.optimistic.conflicts")
+				.description("Transfer attempts that found a balance modified by a concurrent transfer")
+				.register(meterRegistry);
+		this.retryCounter = Counter.builder("banking.transfer.optimistic.retries")
+				.description("Transfer attempts retried after a conflict")
+				.register(meterRegistry);
+		this.exhaustedCounter = Counter.builder("banking.transfer.optimistic.exhausted")
+				.description("Transfers rejected after running out of attempts")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public <T> T execute(Collection<Long> accountIds, Supplier<T> work) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return transactionOperations.execute(status -> work.get());
+			} catch (OptimisticLockingFailureException e) {
+				conflictCounter.increment();
+				if (attempt >= maxAttempts) {
+					exhaustedCounter.increment();
+					throw new TransferConflictException(accountIds, attempt);
+				}
+
+				retryCounter.increment();
+				backOff(attempt, accountIds);
+			}
+		}
+	}
+
+	private void backOff(int attempt, Collection<Long> accountIds) {
+		long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+		if (ceiling <= 0)
+			return;
+
+		try {
+			TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransferConflictException(accountIds, attempt);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service.transfer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * {@link TransferExecutor} serializing conflicting transfers in this JVM through an {@link AccountLockManager}.
+ * Locks are released only after the transaction completes, so no other transfer can read a balance this one is
+ * about to overwrite. Only suitable as the sole guard when a single application node writes to the database.
+ *
+ * @author Marco Ruiz
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transfer.mode", havingValue = "striped", matchIfMissing = true)
+public class StripedLockTransferExecutor implements TransferExecutor {
+
+	private final AccountLockManager accountLockManager;
+	private final TransactionOperations transactionOperations;
+
+	public StripedLockTransferExecutor(AccountLockManager accountLockManager, TransactionOperations transactionOperations) {
+		this.accountLockManager = accountLockManager;
+		this.transactionOperations = transactionOperations;
+	}
+
+	@Override
+	public <T> T execute(Collection<Long> accountIds, Supplier<T> work) {
+		return accountLockManager.withLocks(accountIds, () -> transactionOperations.execute(status -> work.get()));
+	}
+}
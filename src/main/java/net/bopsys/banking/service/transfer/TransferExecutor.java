@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service.transfer;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Strategy used to apply balance mutations on a set of bank accounts transactionally, while protecting them from
+ * lost updates caused by concurrent transfers. The strategy in use is selected per deployment through the
+ * {@code banking.transfer.mode} property.
+ *
+ * @author Marco Ruiz
+ */
+public interface TransferExecutor {
+
+	/**
+	 * Runs a unit of work in a transaction, guarding the bank accounts of interest against concurrent balance updates.
+	 * The unit of work is expected to load the accounts it mutates by itself, and may be invoked more than once by
+	 * strategies that retry on conflicts.
+	 *
+	 * @param accountIds Identifiers of the bank accounts the unit of work is going to mutate
+	 * @param work Unit of work to run
+	 * @return Result of the unit of work
+	 */
+	<T> T execute(Collection<Long> accountIds, Supplier<T> work);
+}
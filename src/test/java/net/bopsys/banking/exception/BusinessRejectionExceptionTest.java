@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Marco Ruiz
+ */
+class BusinessRejectionExceptionTest {
+
+	@Test
+	void whenRejectingATransfer_thenNoStackTraceShouldBeCapturedAndTheMessageFormattedOnce() {
+		// WHEN
+		InsufficientBalanceForTransferException exception = new InsufficientBalanceForTransferException(11L, 100, -500);
+
+		// THEN
+		assertEquals(0, exception.getStackTrace().length);
+		assertEquals("Account 11 cannot be debited -500 cents due to insufficient balance (balance: 100)",
+				exception.getMessage());
+		assertSame(exception.getMessage(), exception.getMessage());
+		assertEquals(InsufficientBalanceForTransferException.class.getName() + ": " + exception.getMessage(),
+				exception.toString());
+	}
+
+	@Test
+	void whenRejecting_thenHttpStatusesShouldBeMappedAsBefore() {
+		// THEN
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, responseStatus(InsufficientBalanceForTransferException.class));
+		assertEquals(HttpStatus.BAD_REQUEST, responseStatus(SameBankAccountTransferNotAllowedException.class));
+		assertEquals(HttpStatus.BAD_REQUEST, responseStatus(TransferAmountTooLowException.class));
+		assertEquals(HttpStatus.NOT_FOUND, responseStatus(BankAccountNotFoundException.class));
+	}
+
+	private static HttpStatus responseStatus(Class<? extends BusinessRejectionException> exceptionType) {
+		return AnnotatedElementUtils.findMergedAnnotation(exceptionType, ResponseStatus.class).code();
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+class TimeOrderedUuidGeneratorTest {
+
+	@Test
+	void whenGeneratingUuids_thenShouldBeVersion7AndStrictlyIncreasing() {
+		List<UUID> uuids = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++)
+			uuids.add(TimeOrderedUuidGenerator.nextUuid());
+
+		for (int i = 0; i < uuids.size(); i++) {
+			assertEquals(7, uuids.get(i).version());
+			assertEquals(2, uuids.get(i).variant());
+			if (i > 0)
+				assertTrue(uuids.get(i - 1).toString().compareTo(uuids.get(i).toString()) < 0);
+		}
+	}
+
+	@Test
+	void whenGeneratingUuidsConcurrently_thenShouldBeUnique() {
+		Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+		IntStream.range(0, 200_000).parallel().forEach(i -> uuids.add(TimeOrderedUuidGenerator.nextUuid()));
+
+		assertEquals(200_000, uuids.size());
+	}
+}
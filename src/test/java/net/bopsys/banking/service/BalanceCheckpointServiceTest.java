@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.BalanceCheckpoint;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest
+class BalanceCheckpointServiceTest {
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private BalanceCheckpointService balanceCheckpointService;
+
+	@Test
+	void whenTransferringAroundCheckpoints_thenComputedBalancesShouldMatchCachedBalances() {
+		Long accountA = bankingService.createAccount(1L, 10_000).getId();
+		Long accountB = bankingService.createAccount(2L, 5_000).getId();
+
+		bankingService.createTransferOrder(accountA, new TransferOrderDto(accountB, 1_000));
+		bankingService.createTransferOrder(accountB, new TransferOrderDto(accountA, 250));
+
+		BalanceCheckpoint checkpointA = balanceCheckpointService.checkpoint(accountA);
+		assertEquals(9_250, checkpointA.getBalanceInCents());
+
+		bankingService.createTransferOrder(accountA, new TransferOrderDto(accountB, 4_000));
+		balanceCheckpointService.checkpoint(accountB);
+		bankingService.createTransferOrder(accountB, new TransferOrderDto(accountA, 100));
+
+		assertEquals(5_350, bankingService.computeBalanceInCents(accountA));
+		assertEquals(9_650, bankingService.computeBalanceInCents(accountB));
+		assertEquals(bankingService.getBankAccount(accountA).getBalanceInCents(), bankingService.computeBalanceInCents(accountA));
+		assertEquals(bankingService.getBankAccount(accountB).getBalanceInCents(), bankingService.computeBalanceInCents(accountB));
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service;
+
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest
+class BankingServiceConcurrencyTest {
+
+	private static final int THREADS = 64;
+	private static final int TRANSFERS_PER_THREAD = 100;
+	private static final int ACCOUNTS = 12;
+	private static final long INITIAL_BALANCE_IN_CENTS = 10_000;
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Test
+	void whenTransferringConcurrentlyBetweenSharedAccounts_thenTotalBalanceShouldBeConserved() throws Exception {
+		List<Long> accountIds = new ArrayList<>();
+		for (int i = 0; i < ACCOUNTS; i++)
+			accountIds.add(bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId());
+
+		AtomicInteger completedTransfers = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+					Long accountFromId = accountIds.get(random.nextInt(ACCOUNTS));
+					Long accountToId = accountIds.get(random.nextInt(ACCOUNTS));
+					if (accountFromId.equals(accountToId))
+						continue;
+
+					try {
+						bankingService.createTransferOrder(accountFromId,
+								new TransferOrderDto(accountToId, random.nextLong(1, 2_000)));
+						completedTransfers.incrementAndGet();
+					} catch (InsufficientBalanceForTransferException e) {
+						// Expected every now and then; the transfer is rejected as a whole
+					}
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> future : futures)
+			future.get(5, TimeUnit.MINUTES);
+		executor.shutdown();
+
+		long totalBalance = 0;
+		for (Long accountId : accountIds) {
+			long cachedBalance = bankingService.getBankAccount(accountId).getBalanceInCents();
+			assertEquals(bankingService.computeBalanceInCents(accountId), cachedBalance);
+			assertTrue(cachedBalance >= 0);
+			totalBalance += cachedBalance;
+		}
+
+		assertTrue(completedTransfers.get() > 0);
+		assertEquals(ACCOUNTS * INITIAL_BALANCE_IN_CENTS, totalBalance);
+	}
+}
@@ -17,17 +17,32 @@
 package net.bopsys.banking.service;
 
 import net.bopsys.banking.exception.CustomerNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.InvalidTransferBatchException;
+import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
 import net.bopsys.banking.model.dto.BankAccountCreateDto;
+import net.bopsys.banking.model.dto.TransferOrderBatchItemDto;
 import net.bopsys.banking.model.dto.TransferOrderDto;
 import net.bopsys.banking.model.entity.BankAccount;
 import net.bopsys.banking.model.entity.Customer;
+import net.bopsys.banking.model.entity.TransferOrder;
 import net.bopsys.banking.model.resource.BankAccountResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchItemResource;
+import net.bopsys.banking.model.resource.TransferOrderBatchResource;
+import net.bopsys.banking.repository.BalanceCheckpointRepository;
 import net.bopsys.banking.repository.BankAccountRepository;
 import net.bopsys.banking.repository.CustomerRepository;
 import net.bopsys.banking.repository.TransferOrderRepository;
+import net.bopsys.banking.service.cache.BankAccountResourceCache;
+import net.bopsys.banking.service.cache.InProcessCacheInvalidationBus;
 import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.replica.ReplicaReads;
+import net.bopsys.banking.service.transfer.AccountLockManager;
+import net.bopsys.banking.service.transfer.StripedLockTransferExecutor;
+import net.bopsys.banking.service.transfer.TransferMetrics;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -37,13 +52,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.times;
@@ -64,11 +83,26 @@ class BankingServiceImplTest {
 	@Mock
 	private TransferOrderRepository transferOrderRepository;
 
+	@Mock
+	private BalanceCheckpointRepository balanceCheckpointRepository;
+
 	private BankingService bankingService;
+	private SimpleMeterRegistry transferMeterRegistry;
 
 	@BeforeEach
 	void setupBase() {
-		bankingService = new BankingServiceImpl(bankAccountRepository, customerRepository, transferOrderRepository);
+		transferMeterRegistry = new SimpleMeterRegistry();
+		bankingService = new BankingServiceImpl(bankAccountRepository, customerRepository, transferOrderRepository,
+				balanceCheckpointRepository,
+				new StripedLockTransferExecutor(new AccountLockManager(16), TransactionOperations.withoutTransaction()),
+				bankAccountResourceCache(), new TransferMetrics(transferMeterRegistry, true),
+				new ReplicaReads(TransactionOperations.withoutTransaction()));
+	}
+
+	private static BankAccountResourceCache bankAccountResourceCache() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		return new BankAccountResourceCache(true, 1_000, Duration.ofMinutes(1),
+				new InProcessCacheInvalidationBus(meterRegistry), meterRegistry);
 	}
 
 	@ParameterizedTest(name = "[{index}] => ({arguments}) : (givenCustomerId, givenCustomerName, givenInitialBalanceInCents)")
@@ -175,5 +209,96 @@ class BankingServiceImplTest {
 	}
 
 
+	@Test
+	void whenTransferringABatch_thenFailedItemsShouldNotAbortTheRestOfTheBatch() {
+		BankAccount account11 = new BankAccount(11L, new Customer(1L, ""), 1000);
+		BankAccount account22 = new BankAccount(22L, new Customer(2L, ""), 500);
+
+		// WHEN
+		Mockito.when(bankAccountRepository.findAllById(Mockito.any()))
+				.thenAnswer(inv -> List.of(account11, account22));
+
+		TransferOrderBatchResource actualBatchResource = bankingService.createTransferOrders(List.of(
+				new TransferOrderBatchItemDto(11L, 22L, 700),	// Succeeds, leaving 300 / 1200
+				new TransferOrderBatchItemDto(11L, 22L, 400),	// Insufficient balance
+				new TransferOrderBatchItemDto(22L, 22L, 10),	// Same account
+				new TransferOrderBatchItemDto(22L, 33L, 10),	// Credit account not found
+				new TransferOrderBatchItemDto(22L, 11L, 0),		// Amount too low
+				new TransferOrderBatchItemDto(22L, 11L, 1200)	// Succeeds, leaving 1500 / 0
+		));
+
+		// THEN
+		assertEquals(2, actualBatchResource.getSucceeded());
+		assertEquals(4, actualBatchResource.getFailed());
+		assertEquals(List.of(true, false, false, false, false, true), actualBatchResource.getItems().stream()
+				.map(TransferOrderBatchItemResource::isSucceeded)
+				.toList());
+
+		assertEquals(1500, account11.getBalanceInCents());
+		assertEquals(0, account22.getBalanceInCents());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TransferOrder>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(transferOrderRepository, times(1)).saveAll(captor.capture());
+		Mockito.verify(bankAccountRepository, times(1)).saveAll(Mockito.any());
+		Mockito.verify(bankAccountRepository, Mockito.never()).save(Mockito.any());
+
+		assertEquals(2, captor.getValue().size());
+	}
+
+	@Test
+	void whenTheBatchIsTooLarge_thenShouldThrowInvalidTransferBatchException() {
+		List<TransferOrderBatchItemDto> dtos = Collections.nCopies(
+				BankingService.MAX_TRANSFER_BATCH_SIZE + 1, new TransferOrderBatchItemDto(11L, 22L, 1));
+
+		// WHEN / THEN
+		assertThrows(InvalidTransferBatchException.class, () -> bankingService.createTransferOrders(dtos));
+		Mockito.verifyNoInteractions(bankAccountRepository, transferOrderRepository);
+	}
+
 	// ... more like the previous tests ... moooooooore
-}
\ No newline at end of file
+
+	@Test
+	void whenReadingABankAccountRepeatedly_thenItShouldBeLoadedAgainOnlyAfterATransfer() {
+		Mockito.when(bankAccountRepository.findBankAccountResource(11L))
+				.thenAnswer(inv -> BankAccountResource.builder().id(11L).name("Alpha").balanceInCents(1000).build());
+		Mockito.when(bankAccountRepository.findBankAccount(11L, BankingService.ACCOUNT_ROLE_DEBIT))
+				.thenAnswer(inv -> new BankAccount(11L, new Customer(1L, "Alpha"), 1000));
+		Mockito.when(bankAccountRepository.findBankAccount(22L, BankingService.ACCOUNT_ROLE_CREDIT))
+				.thenAnswer(inv -> new BankAccount(22L, new Customer(2L, "Beta"), 1000));
+
+		// WHEN
+		bankingService.getBankAccount(11L);
+		bankingService.getBankAccount(11L);
+		bankingService.createTransferOrder(11L, new TransferOrderDto(22L, 100));
+		bankingService.getBankAccount(11L);
+
+		// THEN
+		Mockito.verify(bankAccountRepository, times(2)).findBankAccountResource(11L);
+	}
+
+	@Test
+	void whenTransfersAreRejected_thenRejectionsShouldBeCountedByExceptionAndAcceptedOnesTimedByPhase() {
+		Mockito.when(bankAccountRepository.findBankAccount(11L, BankingService.ACCOUNT_ROLE_DEBIT))
+				.thenAnswer(inv -> new BankAccount(11L, new Customer(1L, "Alpha"), 1000));
+		Mockito.when(bankAccountRepository.findBankAccount(22L, BankingService.ACCOUNT_ROLE_CREDIT))
+				.thenAnswer(inv -> new BankAccount(22L, new Customer(2L, "Beta"), 1000));
+
+		// WHEN
+		bankingService.createTransferOrder(11L, new TransferOrderDto(22L, 100));
+		assertThrows(InsufficientBalanceForTransferException.class,
+				() -> bankingService.createTransferOrder(11L, new TransferOrderDto(22L, 5000)));
+		assertThrows(InsufficientBalanceForTransferException.class,
+				() -> bankingService.createTransferOrder(11L, new TransferOrderDto(22L, 6000)));
+		assertThrows(SameBankAccountTransferNotAllowedException.class,
+				() -> bankingService.createTransferOrder(11L, new TransferOrderDto(11L, 100)));
+
+		// THEN
+		assertEquals(2, transferMeterRegistry.get("banking.transfer.rejections")
+				.tag("exception", "InsufficientBalanceForTransferException").counter().count());
+		assertEquals(1, transferMeterRegistry.get("banking.transfer.rejections")
+				.tag("exception", "SameBankAccountTransferNotAllowedException").counter().count());
+		assertEquals(1, transferMeterRegistry.get("banking.transfer.phase").tag("phase", "commit").timer().count());
+		assertEquals(1, transferMeterRegistry.get("banking.transfer.phase").tag("phase", "mutation").timer().count());
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts the number of SQL statements issued per read, so that N+1 fetches cannot creep back into them
+ *
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query-count",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"banking.account-cache.enabled=false"
+})
+class QueryCountTest {
+
+	private static final int TRANSFERS = 20;
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private Long accountId;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// Every transfer involves a different counterpart, owned by a different customer, so that loading any of them
+		// per row would show up in the statement count
+		accountId = bankingService.createAccount(1L, 1_000_000).getId();
+		for (int i = 0; i < TRANSFERS; i++) {
+			Long counterpartId = bankingService.createAccount((i % 3) + 2L, 1_000).getId();
+			bankingService.createTransferOrder(accountId, new TransferOrderDto(counterpartId, 100));
+		}
+		statistics.clear();
+	}
+
+	@Test
+	void whenReadingTheTransferHistory_thenItShouldTakeOneStatement() {
+		// WHEN
+		int transfers = bankingService.getTransferHistory(accountId).size();
+
+		// THEN
+		assertEquals(TRANSFERS, transfers);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void whenReadingATransferHistoryPage_thenItShouldTakeOneStatement() {
+		// WHEN
+		String cursor = bankingService.getTransferHistoryPage(accountId, null, 5).getNextCursor();
+		statistics.clear();
+		int transfers = bankingService.getTransferHistoryPage(accountId, cursor, 5).getItems().size();
+
+		// THEN
+		assertEquals(5, transfers);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void whenReadingABankAccount_thenItShouldTakeOneStatement() {
+		// WHEN
+		bankingService.getBankAccount(accountId);
+
+		// THEN
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service;
+
+import net.bopsys.banking.exception.InvalidTransferHistoryPageException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.resource.TransferOrderPageResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest
+class TransferHistoryPaginationTest {
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Test
+	void whenPagingThroughTransferHistory_thenPagesShouldCoverTheWholeHistoryInOrder() {
+		Long accountA = bankingService.createAccount(3L, 10_000).getId();
+		Long accountB = bankingService.createAccount(4L, 10_000).getId();
+		for (int i = 1; i <= 7; i++)
+			bankingService.createTransferOrder((i % 2 == 0) ? accountA : accountB,
+					new TransferOrderDto((i % 2 == 0) ? accountB : accountA, i * 10L));
+
+		List<TransferOrderResource> pagedHistory = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			TransferOrderPageResource page = bankingService.getTransferHistoryPage(accountA, cursor, 3);
+			pagedHistory.addAll(page.getItems());
+			pageSizes.add(page.getItems().size());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		List<TransferOrderResource> streamedHistory = new ArrayList<>();
+		bankingService.streamTransferHistory(accountA, streamedHistory::add);
+
+		assertEquals(List.of(3, 3, 1), pageSizes);
+		assertEquals(streamedHistory, pagedHistory);
+		assertThat(pagedHistory).containsExactlyInAnyOrderElementsOf(bankingService.getTransferHistory(accountA));
+		assertThat(pagedHistory).extracting(TransferOrderResource::getCreatedOn).isSorted();
+	}
+
+	@Test
+	void whenPagingWithInvalidArguments_thenShouldThrowInvalidTransferHistoryPageException() {
+		assertThrows(InvalidTransferHistoryPageException.class, () -> bankingService.getTransferHistoryPage(1L, null, 0));
+		assertThrows(InvalidTransferHistoryPageException.class, () -> bankingService.getTransferHistoryPage(1L, "not-a-cursor", 10));
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import net.bopsys.banking.model.resource.ImportErrorResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.model.resource.TransferOrderResource;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:bulk-load",
+		"banking.bulk-load.workers=2",
+		"banking.bulk-load.batch-size=2"
+})
+class BulkLoaderTest {
+
+	@Autowired
+	private BankAccountBulkLoader bankAccountBulkLoader;
+
+	@Autowired
+	private TransferOrderBulkLoader transferOrderBulkLoader;
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Test
+	void whenLoadingAccountsAndTheirHistory_thenOnlyTheInvalidRowsShouldBeSkipped() throws Exception {
+		// WHEN
+		ImportReportResource accounts = bankAccountBulkLoader.load(BulkFormat.CSV, content("""
+				customerId,id,initialBalanceInCents,balanceInCents,createdOn
+				1,5001,10000,9500,2024-01-01T00:00:00Z
+				2,5002,10000,10500,2024-01-01T00:00:00Z
+
+				3,5003,-5,,
+				99,5004,10000,,
+				4,5005,0,
+				"""));
+
+		ImportReportResource transfers = transferOrderBulkLoader.load(BulkFormat.NDJSON, content("""
+				{"accountFromId": 5001, "accountToId": 5002, "amountInCents": 200, "createdOn": "2024-02-01T00:00:00Z"}
+				{"accountFromId": 5001, "accountToId": 5002, "amountInCents": 300, "createdOn": "2024-03-01T00:00:00Z"}
+				{"accountFromId": 5001, "accountToId": 5001, "amountInCents": 300, "createdOn": "2024-03-01T00:00:00Z"}
+				{"accountFromId": 5001, "accountToId":
+				{"accountFromId": 5001, "accountToId": 5002, "amountInCents": 300}
+				"""));
+
+		// THEN
+		assertEquals(5, accounts.getProcessed());
+		assertEquals(3, accounts.getImported());
+		assertThat(accounts.getErrors()).extracting(ImportErrorResource::getIndex).containsExactlyInAnyOrder(2L, 3L);
+
+		assertEquals(2, transfers.getImported());
+		assertThat(transfers.getErrors()).extracting(ImportErrorResource::getIndex).containsExactly(2L, 3L, 4L);
+
+		assertThat(bankingService.getTransferHistory(5002L))
+				.extracting(TransferOrderResource::getCreatedOn)
+				.containsExactly(Instant.parse("2024-02-01T00:00:00Z"), Instant.parse("2024-03-01T00:00:00Z"));
+		assertEquals(9_500, bankingService.computeBalanceInCents(5001L));
+		assertEquals(10_500, bankingService.getBankAccount(5002L).getBalanceInCents());
+		assertEquals(0, bankingService.getBankAccount(5005L).getBalanceInCents());
+		assertTrue(bankingService.createAccount(1L, 100).getId() > 5005L);
+	}
+
+	private static InputStream content(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.bulk;
+
+import net.bopsys.banking.exception.InvalidImportException;
+import net.bopsys.banking.model.resource.ImportErrorResource;
+import net.bopsys.banking.model.resource.ImportReportResource;
+import net.bopsys.banking.service.interfaces.CustomerService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:customer-import",
+		"banking.customer-import.batch-size=3"
+})
+class CustomerJsonImporterTest {
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Test
+	void whenImportingCustomersWithInvalidRecords_thenOnlyTheInvalidOnesShouldBeSkipped() throws Exception {
+		customerService.getCustomer(1L);
+		List<ImportReportResource> progressReports = new ArrayList<>();
+
+		// WHEN
+		ImportReportResource report = customerService.importCustomers(json("""
+				[
+				  {"id": 10, "name": "Ana"},
+				  {"id": 11, "name": ""},
+				  {"id": "not-a-number", "name": "Ivan"},
+				  {"id": 12, "name": "Bo"},
+				  {"id": 10, "name": "Ana Maria"},
+				  {"id": 13, "name": "Cy"},
+				  {"id": 1, "name": "Arisha B."}
+				]
+				"""), progressReports::add);
+
+		// THEN
+		assertTrue(report.isCompleted());
+		assertEquals(7, report.getProcessed());
+		assertEquals(5, report.getImported());
+		assertEquals(2, report.getFailed());
+		assertThat(report.getErrors()).extracting(ImportErrorResource::getIndex).containsExactly(1L, 2L);
+
+		assertThat(progressReports).extracting(ImportReportResource::getImported).containsExactly(3L, 5L);
+		assertEquals("Ana Maria", customerService.getCustomer(10L).getName());
+		assertEquals("Bo", customerService.getCustomer(12L).getName());
+		assertEquals("Arisha B.", customerService.getCustomer(1L).getName());
+	}
+
+	@Test
+	void whenImportingMalformedContent_thenTheRecordsBeforeItShouldBeKept() throws Exception {
+		// WHEN
+		ImportReportResource report = customerService.importCustomers(json("""
+				[{"id": 20, "name": "Dee"}, {"id": 21, "name": "Eve"}, {"id":
+				"""), progress -> {});
+
+		// THEN
+		assertFalse(report.isCompleted());
+		assertEquals(2, report.getImported());
+		assertThat(report.getErrors()).extracting(ImportErrorResource::getIndex).containsExactly(2L);
+		assertEquals("Eve", customerService.getCustomer(21L).getName());
+	}
+
+	@Test
+	void whenImportingSomethingOtherThanAnArray_thenShouldThrowInvalidImportException() {
+		assertThrows(InvalidImportException.class,
+				() -> customerService.importCustomers(json("{\"id\": 30, \"name\": \"Flo\"}"), report -> {}));
+	}
+
+	private static InputStream json(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
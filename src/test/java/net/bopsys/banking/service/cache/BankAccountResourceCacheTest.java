@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import net.bopsys.banking.model.resource.BankAccountResource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Marco Ruiz
+ */
+class BankAccountResourceCacheTest {
+
+	private InProcessCacheInvalidationBus invalidationBus;
+	private BankAccountResourceCache cache;
+
+	@BeforeEach
+	void setup() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		invalidationBus = new InProcessCacheInvalidationBus(meterRegistry);
+		cache = new BankAccountResourceCache(true, 1_000, Duration.ofMinutes(1), invalidationBus, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		invalidationBus.close();
+	}
+
+	@Test
+	void whenACustomerChanges_thenOnlyTheAccountsItOwnsShouldBeInvalidated() {
+		cache.put(resource(1L, 10L));
+		cache.put(resource(2L, 10L));
+		cache.put(resource(3L, 20L));
+		AtomicInteger loads = new AtomicInteger();
+
+		// WHEN
+		invalidationBus.publish(CacheInvalidation.Type.CUSTOMER, List.of(10L));
+
+		// THEN
+		for (long accountId = 1; accountId <= 3; accountId++) {
+			long id = accountId;
+			cache.get(id, ignored -> {
+				loads.incrementAndGet();
+				return resource(id, null);
+			});
+		}
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void whenEntriesAreLoadedAndInvalidated_thenTheCustomerIndexShouldFollowThem() {
+		cache.put(resource(1L, 10L));
+		cache.get(2L, id -> resource(id, 10L));
+		cache.get(3L, id -> resource(id, 20L));
+
+		// WHEN
+		invalidationBus.publish(CacheInvalidation.Type.BANK_ACCOUNT, List.of(1L));
+		invalidationBus.publish(CacheInvalidation.Type.CUSTOMER, List.of(20L));
+
+		// THEN
+		assertEquals(Set.of(2L), cache.indexedAccountIds(10L));
+		assertEquals(Set.of(), cache.indexedAccountIds(20L));
+	}
+
+	private static BankAccountResource resource(Long accountId, Long customerId) {
+		return BankAccountResource.builder().id(accountId).name("Arisha Barron").customerId(customerId).build();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import net.bopsys.banking.BankApp;
+import net.bopsys.banking.model.dto.CustomerDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.interfaces.CustomerService;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two application nodes, each with its own context and caches, against the same database in this JVM.
+ *
+ * @author Marco Ruiz
+ */
+class CacheInvalidationClusterTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = {"in-process", "jdbc"})
+	void whenWritingOnOneNode_thenCachesOfTheOtherNodeShouldBeInvalidated(String bus) throws InterruptedException {
+		try (ConfigurableApplicationContext nodeA = startNode(bus);
+			 ConfigurableApplicationContext nodeB = startNode(bus)) {
+
+			BankingService bankingServiceA = nodeA.getBean(BankingService.class);
+			BankingService bankingServiceB = nodeB.getBean(BankingService.class);
+			CustomerService customerServiceA = nodeA.getBean(CustomerService.class);
+			CustomerService customerServiceB = nodeB.getBean(CustomerService.class);
+
+			Long accountFromId = bankingServiceA.createAccount(1L, 1_000).getId();
+			Long accountToId = bankingServiceA.createAccount(2L, 1_000).getId();
+
+			// Cached by node B
+			assertEquals(1_000, bankingServiceB.getBankAccount(accountFromId).getBalanceInCents());
+			assertEquals("Arisha Barron", customerServiceB.getCustomer(1L).getName());
+
+			// WHEN
+			bankingServiceA.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100));
+			customerServiceA.createCustomer(new CustomerDto(1L, "Arisha Barron-Gibson"));
+
+			// THEN
+			awaitEquals(900L, () -> bankingServiceB.getBankAccount(accountFromId).getBalanceInCents());
+			awaitEquals("Arisha Barron-Gibson", () -> customerServiceB.getCustomer(1L).getName());
+			awaitEquals("Arisha Barron-Gibson", () -> bankingServiceB.getBankAccount(accountFromId).getName());
+
+			MeterRegistry meterRegistryB = nodeB.getBean(MeterRegistry.class);
+			assertTrue(meterRegistryB.get("banking.cache-invalidation.staleness").tag("bus", bus).timer().count() > 0);
+		}
+	}
+
+	private static ConfigurableApplicationContext startNode(String bus) {
+		return new SpringApplicationBuilder(BankApp.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=jdbc:h2:mem:cluster-" + bus + ";DB_CLOSE_DELAY=-1",
+						"--spring.jpa.properties.hibernate.show_sql=false",
+						"--banking.cache-invalidation.bus=" + bus,
+						"--banking.cache-invalidation.poll-interval=PT0.05S",
+						// Long enough for any refresh observed to come from an invalidation
+						"--banking.account-cache.time-to-live=1h",
+						"--banking.customer-cache.time-to-live=1h");
+	}
+
+	private static <T> void awaitEquals(T expected, Supplier<T> actual) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!expected.equals(actual.get()) && System.currentTimeMillis() < deadline)
+			Thread.sleep(20);
+		assertEquals(expected, actual.get());
+	}
+}
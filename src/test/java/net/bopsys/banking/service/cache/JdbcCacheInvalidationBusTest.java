@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.cache;
+
+import net.bopsys.banking.model.entity.CacheInvalidationMessage;
+import net.bopsys.banking.repository.CacheInvalidationMessageRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+class JdbcCacheInvalidationBusTest {
+
+	private final List<CacheInvalidationMessage> table = new CopyOnWriteArrayList<>();
+
+	@Test
+	void whenASequenceGapIsFollowedByManyRows_thenNewerRowsShouldStillBeDelivered() {
+		JdbcCacheInvalidationBus bus = startBus();
+		List<Long> deliveredIds = new ArrayList<>();
+		bus.subscribe(invalidation -> deliveredIds.addAll(invalidation.ids()));
+
+		// Row 1 is not committed yet
+		for (long id = 2; id <= 2_500; id++)
+			table.add(message(id));
+
+		// WHEN
+		bus.poll();
+		bus.poll();
+
+		// THEN
+		assertEquals(2_499, deliveredIds.size());
+		assertTrue(deliveredIds.contains(2_500L));
+
+		// WHEN
+		table.add(message(1));
+		table.add(message(2_501));
+		bus.poll();
+
+		// THEN
+		assertEquals(2_501, deliveredIds.size());
+		assertEquals(2_501, Set.copyOf(deliveredIds).size());
+	}
+
+	private JdbcCacheInvalidationBus startBus() {
+		CacheInvalidationMessageRepository messageRepository = Mockito.mock(CacheInvalidationMessageRepository.class);
+		Mockito.when(messageRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.empty());
+		Mockito.when(messageRepository.findFirst1000ByIdGreaterThanOrderById(Mockito.anyLong()))
+				.thenAnswer(inv -> {
+					long after = inv.getArgument(0);
+					return table.stream()
+							.filter(message -> message.getId() > after)
+							.sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+							.limit(1_000)
+							.toList();
+				});
+		Mockito.when(messageRepository.findAllById(Mockito.any()))
+				.thenAnswer(inv -> {
+					Iterable<Long> ids = inv.getArgument(0);
+					Collection<Long> wantedIds = StreamSupport.stream(ids.spliterator(), false).collect(Collectors.toSet());
+					return table.stream().filter(message -> wantedIds.contains(message.getId())).toList();
+				});
+
+		JdbcCacheInvalidationBus bus = new JdbcCacheInvalidationBus(
+				messageRepository, new SimpleMeterRegistry(), Duration.ofMinutes(10));
+		bus.start();
+		return bus;
+	}
+
+	private static CacheInvalidationMessage message(long id) {
+		CacheInvalidationMessage message = new CacheInvalidationMessage(
+				CacheInvalidation.Type.BANK_ACCOUNT.name(), String.valueOf(id), "other-node", Instant.now());
+		message.setId(id);
+		return message;
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.idempotency;
+
+import net.bopsys.banking.exception.IdempotencyKeyInUseException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.InvalidIdempotencyKeyException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.entity.TransferIdempotencyKey;
+import net.bopsys.banking.repository.TransferIdempotencyKeyRepository;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency")
+class IdempotentTransferServiceTest {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private IdempotentTransferService idempotentTransferService;
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private TransferIdempotencyKeyRepository keyRepository;
+
+	@Test
+	void whenRepeatingATransferWithTheSameKey_thenFundsShouldBeTransferredOnce() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		TransferOrderDto dto = new TransferOrderDto(accountToId, 100);
+
+		// WHEN
+		UUID first = idempotentTransferService.createTransferOrder(accountFromId, dto, "repeated-key");
+		UUID repeated = idempotentTransferService.createTransferOrder(accountFromId, dto, "repeated-key");
+
+		// THEN
+		assertEquals(first, repeated);
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+		assertEquals(1, bankingService.getTransferHistory(accountFromId).size());
+	}
+
+	@Test
+	void whenRepeatingTheKeyOnANodeWhichHasNotSeenIt_thenTheStoredKeyShouldAnswer() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		TransferOrderDto dto = new TransferOrderDto(accountToId, 100);
+		IdempotentTransferService otherNode = new IdempotentTransferService(bankingService, keyRepository,
+				new SimpleMeterRegistry(), Duration.ofMinutes(10), 1_000, Duration.ofDays(1), "jpa");
+
+		// WHEN
+		UUID first = idempotentTransferService.createTransferOrder(accountFromId, dto, "stored-key");
+		UUID repeated = otherNode.createTransferOrder(accountFromId, dto, "stored-key");
+
+		// THEN
+		assertEquals(first, repeated);
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	@Test
+	void whenReusingTheKeyForADifferentTransfer_thenShouldThrowInvalidIdempotencyKeyException() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		idempotentTransferService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100), "reused-key");
+
+		// WHEN / THEN
+		assertThrows(InvalidIdempotencyKeyException.class, () -> idempotentTransferService.createTransferOrder(
+				accountFromId, new TransferOrderDto(accountToId, 200), "reused-key"));
+		assertThrows(InvalidIdempotencyKeyException.class, () -> idempotentTransferService.createTransferOrder(
+				accountFromId, new TransferOrderDto(accountToId, 100), " "));
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	@Test
+	void whenTheFirstAttemptIsRejected_thenTheKeyShouldBeRetriable() {
+		Long accountFromId = bankingService.createAccount(1L, 100).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		TransferOrderDto dto = new TransferOrderDto(accountToId, 500);
+		assertThrows(InsufficientBalanceForTransferException.class,
+				() -> idempotentTransferService.createTransferOrder(accountFromId, dto, "rejected-key"));
+
+		// WHEN
+		bankingService.createTransferOrder(accountToId, new TransferOrderDto(accountFromId, 400));
+		idempotentTransferService.createTransferOrder(accountFromId, dto, "rejected-key");
+
+		// THEN
+		assertEquals(0, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	@Test
+	void whenTheEngineCannotRollTransfersBack_thenKeysShouldBeClaimedBeforeTransferring() {
+		Long accountFromId = bankingService.createAccount(1L, 100).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		TransferOrderDto dto = new TransferOrderDto(accountToId, 500);
+		IdempotentTransferService journalNode = journalNode();
+		assertThrows(InsufficientBalanceForTransferException.class,
+				() -> journalNode.createTransferOrder(accountFromId, dto, "claimed-key"));
+		assertFalse(keyRepository.existsById("claimed-key"));
+
+		// WHEN
+		bankingService.createTransferOrder(accountToId, new TransferOrderDto(accountFromId, 400));
+		UUID first = journalNode.createTransferOrder(accountFromId, dto, "claimed-key");
+		UUID repeated = journalNode().createTransferOrder(accountFromId, dto, "claimed-key");
+
+		// THEN
+		assertEquals(first, repeated);
+		assertEquals(first, keyRepository.findById("claimed-key").orElseThrow().getTransferOrderId());
+		assertEquals(0, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	@Test
+	void whenTheKeyIsClaimedByATransferInProgress_thenShouldThrowIdempotencyKeyInUseException() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		keyRepository.saveAndFlush(new TransferIdempotencyKey("in-progress-key", accountFromId, accountToId, 100, null));
+
+		// WHEN / THEN
+		assertThrows(IdempotencyKeyInUseException.class, () -> journalNode().createTransferOrder(
+				accountFromId, new TransferOrderDto(accountToId, 100), "in-progress-key"));
+		assertEquals(1_000, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	@Test
+	void whenRetryingConcurrentlyWithTheSameKey_thenFundsShouldBeTransferredOnce() throws Exception {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		TransferOrderDto dto = new TransferOrderDto(accountToId, 100);
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<UUID>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				return idempotentTransferService.createTransferOrder(accountFromId, dto, "storm-key");
+			}));
+		}
+
+		// WHEN
+		start.countDown();
+		List<UUID> transferOrderIds = new ArrayList<>();
+		for (Future<UUID> future : futures)
+			transferOrderIds.add(future.get(1, TimeUnit.MINUTES));
+		executor.shutdown();
+
+		// THEN
+		assertEquals(1, transferOrderIds.stream().distinct().count());
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+		assertEquals(1, bankingService.getTransferHistory(accountFromId).size());
+	}
+
+	private IdempotentTransferService journalNode() {
+		return new IdempotentTransferService(bankingService, keyRepository, new SimpleMeterRegistry(),
+				Duration.ofMinutes(10), 1_000, Duration.ofDays(1), "journal");
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.jfr;
+
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.model.dto.CustomerDto;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.model.resource.FlightRecordingResource;
+import net.bopsys.banking.service.interfaces.BankingService;
+import net.bopsys.banking.service.interfaces.CustomerService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:jfr-events")
+class BankingEventsTest {
+
+	@TempDir
+	static Path recordingDirectory;
+
+	@DynamicPropertySource
+	static void recordingProperties(DynamicPropertyRegistry registry) {
+		registry.add("banking.jfr.directory", () -> recordingDirectory.toString());
+	}
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private BankingFlightRecorder flightRecorder;
+
+	@Test
+	void whenRecordingWithoutThreshold_thenEveryBankingOperationShouldBeRecorded() throws IOException {
+		long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		long accountToId = bankingService.createAccount(2L, 0).getId();
+
+		// WHEN
+		flightRecorder.start(Duration.ZERO);
+		bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 300));
+		assertThrows(InsufficientBalanceForTransferException.class,
+				() -> bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 5_000)));
+		bankingService.computeBalanceInCents(accountToId);
+		bankingService.getTransferHistory(accountFromId);
+		bankingService.getTransferHistoryPage(accountFromId, null, 10);
+		customerService.createCustomers(List.of(new CustomerDto(500L, "Ana"), new CustomerDto(501L, "Luis")));
+		FlightRecordingResource recording = flightRecorder.stop();
+
+		// THEN
+		assertFalse(recording.isRecording());
+		assertNotNull(recording.getFile());
+		Map<String, List<RecordedEvent>> eventsByName = RecordingFile.readAllEvents(Path.of(recording.getFile()))
+				.stream()
+				.collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+		List<RecordedEvent> transfers = eventsByName.get(TransferEvent.NAME);
+		assertEquals(2, transfers.size());
+		assertEquals(accountFromId, transfers.get(0).getLong("accountFromId"));
+		assertEquals(accountToId, transfers.get(0).getLong("accountToId"));
+		assertEquals(300, transfers.get(0).getLong("amountInCents"));
+		assertNotNull(transfers.get(0).getString("transferOrderId"));
+		assertNull(transfers.get(0).getString("rejection"));
+		assertEquals("InsufficientBalanceForTransferException", transfers.get(1).getString("rejection"));
+
+		RecordedEvent balance = eventsByName.get(BalanceComputationEvent.NAME).get(0);
+		assertEquals(accountToId, balance.getLong("accountId"));
+		assertEquals(300, balance.getLong("balanceInCents"));
+
+		List<RecordedEvent> histories = eventsByName.get(TransferHistoryEvent.NAME);
+		assertEquals(List.of(TransferHistoryEvent.MODE_LIST, TransferHistoryEvent.MODE_PAGE),
+				histories.stream().map(event -> event.getString("mode")).toList());
+		assertTrue(histories.stream().allMatch(event -> event.getLong("rows") == 1));
+
+		RecordedEvent customers = eventsByName.get(CustomerCreationEvent.NAME).get(0);
+		assertEquals(CustomerCreationEvent.SOURCE_BATCH, customers.getString("source"));
+		assertEquals(2, customers.getLong("rowsSaved"));
+		assertTrue(customers.getDuration().toNanos() > 0);
+	}
+
+	@Test
+	void whenRecordingWithAThresholdAboveEveryOperation_thenNothingShouldBeRecorded() throws IOException {
+		long accountId = bankingService.createAccount(1L, 1_000).getId();
+
+		// WHEN
+		flightRecorder.start(Duration.ofHours(1));
+		bankingService.computeBalanceInCents(accountId);
+		bankingService.getTransferHistory(accountId);
+		FlightRecordingResource recording = flightRecorder.stop();
+
+		// THEN
+		assertTrue(RecordingFile.readAllEvents(Path.of(recording.getFile())).stream()
+				.noneMatch(event -> event.getEventType().getName().startsWith("net.bopsys.banking.")));
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = {
+		"banking.engine=journal",
+		"banking.journal.flush-interval=10ms",
+		"spring.datasource.url=jdbc:h2:mem:journal"
+})
+class JournaledBankingServiceTest {
+
+	@TempDir
+	static Path directory;
+
+	@DynamicPropertySource
+	static void journalProperties(DynamicPropertyRegistry registry) {
+		registry.add("banking.journal.path", () -> directory.resolve("transfer-journal.log").toString());
+	}
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void whenTransferring_thenBalancesShouldBeUpdatedRightAwayAndPersistedEventually() throws InterruptedException {
+		assertInstanceOf(JournaledBankingService.class, bankingService);
+
+		List<Long> accountIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++)
+			accountIds.add(bankingService.createAccount(1L, 10_000).getId());
+
+		for (int i = 0; i < 300; i++) {
+			Long accountFromId = accountIds.get(i % 3);
+			Long accountToId = accountIds.get((i + 1) % 3);
+			bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100 + i % 3));
+		}
+
+		// WHEN
+		assertThrows(InsufficientBalanceForTransferException.class, () ->
+				bankingService.createTransferOrder(accountIds.get(0), new TransferOrderDto(accountIds.get(1), 1_000_000)));
+
+		// THEN
+		assertEquals(10_200, bankingService.getBankAccount(accountIds.get(0)).getBalanceInCents());
+		assertEquals(9_900, bankingService.getBankAccount(accountIds.get(1)).getBalanceInCents());
+		assertEquals(9_900, bankingService.getBankAccount(accountIds.get(2)).getBalanceInCents());
+		assertEquals(1, meterRegistry.get("banking.transfer.rejections")
+				.tag("exception", "InsufficientBalanceForTransferException").counter().count());
+
+		for (Long accountId : accountIds) {
+			awaitPersisted(accountId, 200);
+			assertEquals(bankingService.getBankAccount(accountId).getBalanceInCents(), bankingService.computeBalanceInCents(accountId));
+		}
+	}
+
+	private void awaitPersisted(Long accountId, int transfers) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (bankingService.getTransferHistory(accountId).size() < transfers && System.currentTimeMillis() < deadline)
+			Thread.sleep(20);
+		assertEquals(transfers, bankingService.getTransferHistory(accountId).size());
+	}
+}
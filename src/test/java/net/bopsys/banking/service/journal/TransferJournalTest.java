@@ -0,0 +1,337 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.journal;
+
+import net.bopsys.banking.model.entity.TimeOrderedUuidGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+class TransferJournalTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void whenAppendingEntries_thenTheyShouldBeReplayedInOrderAfterReopening() throws Exception {
+		Path path = directory.resolve("journal.log");
+		List<JournalEntry> durableEntries = new CopyOnWriteArrayList<>();
+		List<CompletableFuture<JournalEntry>> appends = new ArrayList<>();
+
+		try (TransferJournal journal = new TransferJournal(path, 16, 1024 * 1024)) {
+			journal.start(durableEntries::addAll);
+			for (int i = 1; i <= 100; i++)
+				appends.add(journal.append(entry(i)));
+			for (CompletableFuture<JournalEntry> append : appends)
+				append.get();
+		}
+
+		// WHEN
+		List<JournalEntry> replayedEntries;
+		try (TransferJournal journal = new TransferJournal(path, 16, 1024 * 1024)) {
+			replayedEntries = journal.readAll();
+		}
+
+		// THEN
+		assertEquals(100, replayedEntries.size());
+		assertEquals(durableEntries, replayedEntries);
+		for (int i = 0; i < replayedEntries.size(); i++) {
+			assertEquals(i + 1, replayedEntries.get(i).sequence());
+			assertEquals(i + 1, replayedEntries.get(i).amountInCents());
+		}
+	}
+
+	@Test
+	void whenJournalEndsWithTornRecord_thenReplayShouldStopBeforeIt() throws Exception {
+		Path path = directory.resolve("journal.log");
+		try (TransferJournal journal = new TransferJournal(path, 16, 1024 * 1024)) {
+			journal.start(entries -> {});
+			journal.append(entry(1)).get();
+			journal.append(entry(2)).get();
+		}
+		Files.write(path, new byte[JournalEntry.SIZE / 2], StandardOpenOption.APPEND);
+
+		// WHEN
+		List<JournalEntry> replayedEntries;
+		try (TransferJournal journal = new TransferJournal(path, 16, 1024 * 1024)) {
+			replayedEntries = journal.readAll();
+		}
+
+		// THEN
+		assertEquals(2, replayedEntries.size());
+	}
+
+	@Test
+	void whenJournalIsClosed_thenAppendsShouldBeRejected() throws IOException {
+		TransferJournal journal = new TransferJournal(directory.resolve("journal.log"), 16, 1024 * 1024);
+		journal.start(entries -> {});
+		journal.close();
+
+		// WHEN
+		CompletableFuture<JournalEntry> append = journal.append(entry(1));
+
+		// THEN
+		assertTrue(append.isCompletedExceptionally());
+		assertThrows(Exception.class, append::get);
+	}
+
+	@Test
+	void whenAWriteFails_thenNoLaterAppendShouldBeAcknowledged() throws Exception {
+		Path path = directory.resolve("journal.log");
+		FailingFileChannel channel = new FailingFileChannel(
+				FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), 2);
+		List<CompletableFuture<JournalEntry>> laterAppends = new ArrayList<>();
+
+		try (TransferJournal journal = new TransferJournal(path, channel, 16, 1024 * 1024)) {
+			journal.start(entries -> {});
+			journal.append(entry(1)).get();
+
+			// WHEN
+			CompletableFuture<JournalEntry> failedAppend = journal.append(entry(2));
+			assertTrue(channel.failingWrite.await(1, TimeUnit.MINUTES));
+			for (int i = 3; i <= 10; i++)
+				laterAppends.add(journal.append(entry(i)));
+			channel.failure.countDown();
+
+			// THEN
+			assertThrows(Exception.class, failedAppend::get);
+			for (CompletableFuture<JournalEntry> append : laterAppends) {
+				assertThrows(Exception.class, append::get);
+				assertTrue(append.isCompletedExceptionally());
+			}
+			assertThrows(Exception.class, () -> journal.append(entry(11)).get());
+			assertFalse(channel.writtenAfterFailure);
+		}
+	}
+
+	@Test
+	void whenAppendingContinuouslyWhilePersistingBehind_thenTheJournalShouldStayBounded() throws Exception {
+		Path path = directory.resolve("journal.log");
+		long maxSizeInBytes = 64L * JournalEntry.SIZE;
+		long[] previousGroupSequence = new long[1];
+		long maxJournalSizeInBytes = 0;
+
+		try (TransferJournal journal = new TransferJournal(path, 16, maxSizeInBytes)) {
+			// Persisting always lags one group behind, so the journal is never caught up while it is appended to
+			journal.start(entries -> {
+				journal.markPersisted(previousGroupSequence[0]);
+				previousGroupSequence[0] = entries.get(entries.size() - 1).sequence();
+			});
+
+			// WHEN
+			for (int i = 1; i <= 10_000; i++) {
+				journal.append(entry(i)).get();
+				maxJournalSizeInBytes = Math.max(maxJournalSizeInBytes, journalSizeInBytes());
+			}
+		}
+
+		// THEN
+		assertTrue(maxJournalSizeInBytes <= 2 * maxSizeInBytes,
+				"Journal grew up to " + maxJournalSizeInBytes + " bytes");
+	}
+
+	@Test
+	void whenSealedSegmentsAreNotPersisted_thenTheyShouldBeReplayedInOrderAfterReopening() throws Exception {
+		Path path = directory.resolve("journal.log");
+		try (TransferJournal journal = new TransferJournal(path, 16, 8L * JournalEntry.SIZE)) {
+			journal.start(entries -> {});
+			for (int i = 1; i <= 100; i++)
+				journal.append(entry(i)).get();
+		}
+
+		// WHEN
+		List<JournalEntry> replayedEntries;
+		try (TransferJournal journal = new TransferJournal(path, 16, 8L * JournalEntry.SIZE)) {
+			replayedEntries = journal.readAll();
+		}
+
+		// THEN
+		assertEquals(100, replayedEntries.size());
+		for (int i = 0; i < replayedEntries.size(); i++)
+			assertEquals(i + 1, replayedEntries.get(i).sequence());
+	}
+
+	private long journalSizeInBytes() throws IOException {
+		long sizeInBytes = 0;
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : files.toList()) {
+				try {
+					sizeInBytes += Files.size(file);
+				} catch (NoSuchFileException e) {
+					// Segment deleted meanwhile
+				}
+			}
+		}
+		return sizeInBytes;
+	}
+
+	private static JournalEntry entry(long amountInCents) {
+		return new JournalEntry(0, TimeOrderedUuidGenerator.nextUuid(), 1L, 2L, amountInCents,
+				Instant.now().truncatedTo(ChronoUnit.MICROS));
+	}
+
+	/**
+	 * Channel whose n-th write fails, once released, after the writes queued meanwhile
+	 */
+	private static class FailingFileChannel extends FileChannel {
+
+		private final FileChannel delegate;
+		private final int failingWriteNumber;
+		private final AtomicInteger writes = new AtomicInteger();
+		private final CountDownLatch failingWrite = new CountDownLatch(1);
+		private final CountDownLatch failure = new CountDownLatch(1);
+		private volatile boolean writtenAfterFailure;
+
+		FailingFileChannel(FileChannel delegate, int failingWriteNumber) {
+			this.delegate = delegate;
+			this.failingWriteNumber = failingWriteNumber;
+		}
+
+		@Override
+		public int write(ByteBuffer src) throws IOException {
+			int writeNumber = writes.incrementAndGet();
+			if (writeNumber > failingWriteNumber)
+				writtenAfterFailure = true;
+			if (writeNumber != failingWriteNumber)
+				return delegate.write(src);
+
+			failingWrite.countDown();
+			try {
+				failure.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			// Tears the record being written
+			src.limit(src.position() + src.remaining() / 2);
+			delegate.write(src);
+			throw new IOException("Disk failure");
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			return delegate.read(dst);
+		}
+
+		@Override
+		public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+			return delegate.read(dsts, offset, length);
+		}
+
+		@Override
+		public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+			return delegate.write(srcs, offset, length);
+		}
+
+		@Override
+		public long position() throws IOException {
+			return delegate.position();
+		}
+
+		@Override
+		public FileChannel position(long newPosition) throws IOException {
+			delegate.position(newPosition);
+			return this;
+		}
+
+		@Override
+		public long size() throws IOException {
+			return delegate.size();
+		}
+
+		@Override
+		public FileChannel truncate(long size) throws IOException {
+			delegate.truncate(size);
+			return this;
+		}
+
+		@Override
+		public void force(boolean metaData) throws IOException {
+			delegate.force(metaData);
+		}
+
+		@Override
+		public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+			return delegate.transferTo(position, count, target);
+		}
+
+		@Override
+		public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+			return delegate.transferFrom(src, position, count);
+		}
+
+		@Override
+		public int read(ByteBuffer dst, long position) throws IOException {
+			return delegate.read(dst, position);
+		}
+
+		@Override
+		public int write(ByteBuffer src, long position) throws IOException {
+			return delegate.write(src, position);
+		}
+
+		@Override
+		public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+			return delegate.map(mode, position, size);
+		}
+
+		@Override
+		public FileLock lock(long position, long size, boolean shared) throws IOException {
+			return delegate.lock(position, size, shared);
+		}
+
+		@Override
+		public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+			return delegate.tryLock(position, size, shared);
+		}
+
+		@Override
+		protected void implCloseChannel() throws IOException {
+			delegate.close();
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.ledger;
+
+import net.bopsys.banking.exception.BankAccountNotFoundException;
+import net.bopsys.banking.exception.InsufficientBalanceForTransferException;
+import net.bopsys.banking.exception.SameBankAccountTransferNotAllowedException;
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = {
+		"banking.engine=ledger",
+		"banking.journal.flush-interval=10ms",
+		"spring.datasource.url=jdbc:h2:mem:ledger"
+})
+class LedgerBankingServiceTest {
+
+	private static final int THREADS = 32;
+	private static final int TRANSFERS_PER_THREAD = 200;
+	private static final int ACCOUNTS = 12;
+	private static final long INITIAL_BALANCE_IN_CENTS = 10_000;
+
+	@TempDir
+	static Path directory;
+
+	@DynamicPropertySource
+	static void journalProperties(DynamicPropertyRegistry registry) {
+		registry.add("banking.journal.path", () -> directory.resolve("transfer-journal.log").toString());
+	}
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void whenTransferringConcurrently_thenTotalBalanceShouldBeConservedAndPersisted() throws Exception {
+		assertInstanceOf(LedgerBankingService.class, bankingService);
+
+		List<Long> accountIds = new ArrayList<>();
+		for (int i = 0; i < ACCOUNTS; i++)
+			accountIds.add(bankingService.createAccount(1L, INITIAL_BALANCE_IN_CENTS).getId());
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				int completedTransfers = 0;
+				for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+					int fromIndex = random.nextInt(ACCOUNTS);
+					int toIndex = (fromIndex + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+					try {
+						bankingService.createTransferOrder(accountIds.get(fromIndex),
+								new TransferOrderDto(accountIds.get(toIndex), random.nextLong(1, 2_000)));
+						completedTransfers++;
+					} catch (InsufficientBalanceForTransferException e) {
+						// Expected every now and then; the transfer is rejected as a whole
+					}
+				}
+				return completedTransfers;
+			}));
+		}
+
+		// WHEN
+		start.countDown();
+		int completedTransfers = 0;
+		for (Future<Integer> future : futures)
+			completedTransfers += future.get(5, TimeUnit.MINUTES);
+		executor.shutdown();
+
+		// THEN
+		long totalBalance = 0;
+		for (Long accountId : accountIds) {
+			long balance = bankingService.getBankAccount(accountId).getBalanceInCents();
+			assertTrue(balance >= 0);
+			awaitPersisted(accountId, balance);
+			totalBalance += balance;
+		}
+
+		assertTrue(completedTransfers > 0);
+		assertEquals(ACCOUNTS * INITIAL_BALANCE_IN_CENTS, totalBalance);
+	}
+
+	@Test
+	void whenTransferIsInvalid_thenSameExceptionsAsJpaEngineShouldBeThrown() {
+		Long accountA = bankingService.createAccount(1L, 1_000).getId();
+		Long accountB = bankingService.createAccount(2L, 1_000).getId();
+
+		// WHEN / THEN
+		assertThrows(SameBankAccountTransferNotAllowedException.class, () ->
+				bankingService.createTransferOrder(accountA, new TransferOrderDto(accountA, 100)));
+		assertThrows(InsufficientBalanceForTransferException.class, () ->
+				bankingService.createTransferOrder(accountA, new TransferOrderDto(accountB, 1_001)));
+		assertThrows(BankAccountNotFoundException.class, () ->
+				bankingService.createTransferOrder(accountA, new TransferOrderDto(Long.MAX_VALUE, 100)));
+
+		bankingService.createTransferOrder(accountA, new TransferOrderDto(accountB, 1_000));
+		assertEquals(0, bankingService.getBankAccount(accountA).getBalanceInCents());
+		assertEquals(2_000, bankingService.getBankAccount(accountB).getBalanceInCents());
+		assertEquals(1, meterRegistry.get("banking.transfer.rejections")
+				.tag("exception", "SameBankAccountTransferNotAllowedException").counter().count());
+		assertEquals(1, meterRegistry.get("banking.transfer.rejections")
+				.tag("exception", "BankAccountNotFoundException").counter().count());
+		assertTrue(meterRegistry.get("banking.transfer.rejections")
+				.tag("exception", "InsufficientBalanceForTransferException").counter().count() >= 1);
+	}
+
+	private void awaitPersisted(Long accountId, long balance) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (bankingService.computeBalanceInCents(accountId) != balance && System.currentTimeMillis() < deadline)
+			Thread.sleep(20);
+		assertEquals(balance, bankingService.computeBalanceInCents(accountId));
+	}
+}
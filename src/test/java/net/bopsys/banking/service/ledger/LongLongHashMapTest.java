@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Marco Ruiz
+ */
+class LongLongHashMapTest {
+
+	@Test
+	void whenPuttingManyKeys_thenMapShouldBehaveLikeHashMap() {
+		LongLongHashMap map = new LongLongHashMap(4);
+		Map<Long, Long> expected = new HashMap<>();
+
+		// WHEN
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < 100_000; i++) {
+			long key = random.nextLong(-1_000, 50_000);
+			long value = random.nextLong();
+			map.put(key, value);
+			expected.put(key, value);
+		}
+
+		// THEN
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, value) -> {
+			assertTrue(map.containsKey(key));
+			assertEquals(value, map.get(key, Long.MIN_VALUE));
+		});
+		assertFalse(map.containsKey(50_001));
+		assertEquals(-1, map.get(50_001, -1));
+	}
+
+	@Test
+	void whenPuttingZeroKey_thenItShouldBeStoredLikeAnyOtherKey() {
+		LongLongHashMap map = new LongLongHashMap(16);
+		assertFalse(map.containsKey(0));
+
+		// WHEN
+		map.put(0, 42);
+		map.put(0, 43);
+
+		// THEN
+		assertTrue(map.containsKey(0));
+		assertEquals(43, map.get(0, -1));
+		assertEquals(1, map.size());
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bopsys.banking.service.replica;
+
+import net.bopsys.banking.model.dto.TransferOrderDto;
+import net.bopsys.banking.service.interfaces.BankingService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uses a second H2 database as the read replica, replicated on demand by copying the whole primary database onto it.
+ *
+ * @author Marco Ruiz
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+		"banking.replica.enabled=true",
+		"banking.replica.url=" + ReplicaRoutingTest.REPLICA_URL,
+		"banking.replica.heartbeat-interval=PT1H",
+		"banking.replica.max-lag=PT1M"})
+class ReplicaRoutingTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private BankingService bankingService;
+
+	@Autowired
+	private ReplicaLagMonitor lagMonitor;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Test
+	void whenTheReplicaKeepsUp_thenReadsShouldBeServedByTheReplica() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100));
+		replicate();
+		lagMonitor.checkLag();
+
+		// WHEN
+		bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100));
+
+		// THEN
+		assertTrue(lagMonitor.isReplicaFresh());
+		assertEquals(1, bankingService.getTransferHistory(accountFromId).size());
+		assertEquals(800, bankingService.computeBalanceInCents(accountFromId));
+	}
+
+	@Test
+	void whenTheReplicaIsStale_thenCachedResourcesShouldStillBeLoadedFromThePrimary() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		replicate();
+		lagMonitor.checkLag();
+		assertEquals(1_000, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+
+		// WHEN
+		bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100));
+
+		// THEN
+		assertTrue(lagMonitor.isReplicaFresh());
+		assertEquals(0, bankingService.getTransferHistory(accountFromId).size());
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	@Test
+	void whenTheReplicaLagsBehind_thenReadsShouldFallBackToThePrimary() {
+		Long accountFromId = bankingService.createAccount(1L, 1_000).getId();
+		Long accountToId = bankingService.createAccount(2L, 1_000).getId();
+		replicate();
+		replicaJdbcTemplate().update("update replica_heartbeat set beat_on = ?",
+				Timestamp.from(Instant.now().minus(Duration.ofHours(1))));
+		lagMonitor.checkLag();
+
+		// WHEN
+		bankingService.createTransferOrder(accountFromId, new TransferOrderDto(accountToId, 100));
+
+		// THEN
+		assertFalse(lagMonitor.isReplicaFresh());
+		assertEquals(1, bankingService.getTransferHistory(accountFromId).size());
+		assertEquals(900, bankingService.getBankAccount(accountFromId).getBalanceInCents());
+	}
+
+	private void replicate() {
+		// Ensures there is a heartbeat to replicate
+		lagMonitor.checkLag();
+
+		JdbcTemplate replicaJdbcTemplate = replicaJdbcTemplate();
+		replicaJdbcTemplate.execute("drop all objects");
+		for (String statement : new JdbcTemplate(primaryDataSource).queryForList("script", String.class))
+			replicaJdbcTemplate.execute(statement);
+	}
+
+	private static JdbcTemplate replicaJdbcTemplate() {
+		return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+	}
+}
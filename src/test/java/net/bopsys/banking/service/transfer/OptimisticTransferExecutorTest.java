@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bopsys.banking.service.transfer;
+
+import net.bopsys.banking.exception.TransferConflictException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Marco Ruiz
+ */
+class OptimisticTransferExecutorTest {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	private MeterRegistry meterRegistry;
+	private OptimisticTransferExecutor executor;
+
+	@BeforeEach
+	void setupBase() {
+		meterRegistry = new SimpleMeterRegistry();
+		executor = new OptimisticTransferExecutor(TransactionOperations.withoutTransaction(), meterRegistry,
+				MAX_ATTEMPTS, Duration.ofMillis(1), Duration.ofMillis(2));
+	}
+
+	@Test
+	void whenConflictsAreTransient_thenShouldRetryUntilTheWorkSucceeds() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = executor.execute(List.of(1L, 2L), () -> {
+			if (attempts.incrementAndGet() < MAX_ATTEMPTS)
+				throw new ObjectOptimisticLockingFailureException("BankAccount", 1L);
+			return "done";
+		});
+
+		assertEquals("done", result);
+		assertEquals(MAX_ATTEMPTS, attempts.get());
+		assertEquals(MAX_ATTEMPTS - 1, counter("banking.transfer.optimistic.conflicts"));
+		assertEquals(MAX_ATTEMPTS - 1, counter("banking.transfer.optimistic.retries"));
+		assertEquals(0, counter("banking.transfer.optimistic.exhausted"));
+	}
+
+	@Test
+	void whenConflictsPersist_thenShouldThrowTransferConflictExceptionAfterMaxAttempts() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThrows(TransferConflictException.class, () -> executor.execute(List.of(1L, 2L), () -> {
+			attempts.incrementAndGet();
+			throw new ObjectOptimisticLockingFailureException("BankAccount", 1L);
+		}));
+
+		assertEquals(MAX_ATTEMPTS, attempts.get());
+		assertEquals(MAX_ATTEMPTS, counter("banking.transfer.optimistic.conflicts"));
+		assertEquals(MAX_ATTEMPTS - 1, counter("banking.transfer.optimistic.retries"));
+		assertEquals(1, counter("banking.transfer.optimistic.exhausted"));
+	}
+
+	private double counter(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+}